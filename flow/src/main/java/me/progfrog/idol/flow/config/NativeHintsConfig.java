@@ -0,0 +1,48 @@
+package me.progfrog.idol.flow.config;
+
+import me.progfrog.idol.flow.dto.AllowUserResponse;
+import me.progfrog.idol.flow.dto.AllowedUserResponse;
+import me.progfrog.idol.flow.dto.QueueImportResponse;
+import me.progfrog.idol.flow.dto.QueueMemberDto;
+import me.progfrog.idol.flow.dto.QueueMigrationResponse;
+import me.progfrog.idol.flow.dto.QueueStatsResponse;
+import me.progfrog.idol.flow.dto.QueueStatusDto;
+import me.progfrog.idol.flow.dto.QueueStatusResponse;
+import me.progfrog.idol.flow.dto.RegisterUserResponse;
+import me.progfrog.idol.flow.exception.ApplicationAdvice;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * 네이티브 이미지 빌드 시 필요한 힌트 등록
+ * Lettuce, Netty, Reactor 는 각 라이브러리와 GraalVM reachability metadata 가 제공하는 힌트를 사용
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.FlowRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class FlowRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Jackson 직렬화 대상 dto
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    AllowUserResponse.class,
+                    AllowedUserResponse.class,
+                    QueueImportResponse.class,
+                    QueueMemberDto.class,
+                    QueueMigrationResponse.class,
+                    QueueStatsResponse.class,
+                    QueueStatusDto.class,
+                    QueueStatusResponse.class,
+                    RegisterUserResponse.class,
+                    ApplicationAdvice.ServerExceptionResponse.class);
+
+            // Thymeleaf 템플릿
+            hints.resources().registerPattern("templates/*.html");
+        }
+    }
+}
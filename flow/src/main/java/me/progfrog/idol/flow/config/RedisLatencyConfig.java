@@ -0,0 +1,18 @@
+package me.progfrog.idol.flow.config;
+
+import me.progfrog.idol.flow.overload.RedisLatencyTracker;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RedisLatencyConfig {
+
+    /**
+     * Lettuce 명령 지연 시간을 과부하 보호 필터가 참고할 수 있도록 등록
+     */
+    @Bean
+    public ClientResourcesBuilderCustomizer redisLatencyCustomizer(RedisLatencyTracker redisLatencyTracker) {
+        return builder -> builder.commandLatencyRecorder(redisLatencyTracker);
+    }
+}
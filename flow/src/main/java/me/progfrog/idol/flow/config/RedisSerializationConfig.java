@@ -0,0 +1,35 @@
+package me.progfrog.idol.flow.config;
+
+import me.progfrog.idol.flow.serializer.FixedLongRedisSerializer;
+import me.progfrog.idol.flow.serializer.VarLongRedisSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@Configuration
+public class RedisSerializationConfig {
+
+    /**
+     * 대기/입장 큐 멤버(사용자 ID) 저장 방식
+     * - string: 10진수 문자열 (기본값, 기존 데이터와 호환)
+     * - fixed: 8바이트 big-endian
+     * - varint: unsigned LEB128
+     */
+    @Bean
+    public RedisSerializationContext<String, Long> queueMemberSerializationContext(
+            @Value("${redis.member-encoding:string}") String memberEncoding) {
+        RedisSerializer<Long> memberSerializer = switch (memberEncoding) {
+            case "string" -> new GenericToStringSerializer<>(Long.class);
+            case "fixed" -> new FixedLongRedisSerializer();
+            case "varint" -> new VarLongRedisSerializer();
+            default -> throw new IllegalArgumentException("지원하지 않는 redis.member-encoding 입니다: " + memberEncoding);
+        };
+
+        return RedisSerializationContext.<String, Long>newSerializationContext(RedisSerializer.string())
+                .value(memberSerializer)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package me.progfrog.idol.flow.controller;
+
+import lombok.RequiredArgsConstructor;
+import me.progfrog.idol.flow.dto.QueueImportResponse;
+import me.progfrog.idol.flow.dto.QueueMemberDto;
+import me.progfrog.idol.flow.dto.QueueMigrationResponse;
+import me.progfrog.idol.flow.serializer.QueueMemberBinaryCodec;
+import me.progfrog.idol.flow.service.QueueTransferService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 큐 관리 API (admin.enabled=true 일 때만 등록)
+ * 인증 없이 큐 데이터를 읽고 바꿀 수 있으므로, 외부에서 접근할 수 없는 서버에서만 켠다.
+ */
+@RestController
+@ConditionalOnProperty(name = "admin.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin/queue")
+public class QueueAdminController {
+
+    private static final int EXPORT_BUFFER_MEMBER_COUNT = 256;
+
+    private final QueueTransferService queueTransferService;
+
+    /**
+     * 큐 내보내기 (NDJSON, 기본값)
+     *
+     * @param queue 큐 이름
+     * @return 한 줄에 멤버 하나
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<QueueMemberDto> exportQueue(@RequestParam(name = "queue", defaultValue = "default") String queue) {
+        return queueTransferService.exportQueue(queue);
+    }
+
+    /**
+     * 큐 내보내기 (바이너리, format=binary 일 때)
+     *
+     * @param queue 큐 이름
+     * @param exchange HTTP 요청
+     * @return 멤버당 17바이트 레코드
+     */
+    @GetMapping(value = "/export", params = "format=binary", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Flux<DataBuffer> exportQueueBinary(@RequestParam(name = "queue", defaultValue = "default") String queue,
+                                              ServerWebExchange exchange) {
+        var bufferFactory = exchange.getResponse().bufferFactory();
+        return queueTransferService.exportQueue(queue)
+                .buffer(EXPORT_BUFFER_MEMBER_COUNT)
+                .map(members -> QueueMemberBinaryCodec.encode(members, bufferFactory));
+    }
+
+    /**
+     * 큐 가져오기 (NDJSON)
+     *
+     * @param queue 큐 이름
+     * @param members 한 줄에 멤버 하나
+     * @return 새로 추가된 멤버 수가 담긴 dto
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<QueueImportResponse> importQueue(@RequestParam(name = "queue", defaultValue = "default") String queue,
+                                                 @RequestBody Flux<QueueMemberDto> members) {
+        return queueTransferService.importQueue(queue, members);
+    }
+
+    /**
+     * 큐 가져오기 (바이너리)
+     *
+     * @param queue 큐 이름
+     * @param body 멤버당 17바이트 레코드
+     * @return 새로 추가된 멤버 수가 담긴 dto
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Mono<QueueImportResponse> importQueueBinary(@RequestParam(name = "queue", defaultValue = "default") String queue,
+                                                       @RequestBody Flux<DataBuffer> body) {
+        return queueTransferService.importQueue(queue, QueueMemberBinaryCodec.decode(body));
+    }
+
+    /**
+     * 큐를 다른 Redis 로 이관 (이관 중에도 대기 번호 조회 가능)
+     *
+     * @param queue 큐 이름
+     * @param target 대상 Redis (redis.backends 중 하나)
+     * @return 복사된 멤버 수가 담긴 dto
+     */
+    @PostMapping("/migrate")
+    public Mono<QueueMigrationResponse> migrateQueue(@RequestParam(name = "queue", defaultValue = "default") String queue,
+                                                     @RequestParam(name = "target") String target) {
+        return queueTransferService.migrateQueue(queue, target);
+    }
+
+    /**
+     * 멈춘 이관 되돌리기 (기존 Redis 를 계속 사용)
+     *
+     * @param queue 큐 이름
+     * @return 완료
+     */
+    @PostMapping("/migrate/abort")
+    public Mono<Void> abortMigration(@RequestParam(name = "queue", defaultValue = "default") String queue) {
+        return queueTransferService.abortMigration(queue);
+    }
+}
@@ -3,8 +3,11 @@ package me.progfrog.idol.flow.controller;
 import lombok.RequiredArgsConstructor;
 import me.progfrog.idol.flow.dto.AllowUserResponse;
 import me.progfrog.idol.flow.dto.AllowedUserResponse;
+import me.progfrog.idol.flow.dto.QueueStatsResponse;
 import me.progfrog.idol.flow.dto.QueueStatusResponse;
 import me.progfrog.idol.flow.dto.RegisterUserResponse;
+import me.progfrog.idol.flow.exception.ErrorCode;
+import me.progfrog.idol.flow.service.QueueStatsService;
 import me.progfrog.idol.flow.service.UserQueueService;
 import org.springframework.http.ResponseCookie;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +15,7 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.time.Instant;
 
 @RestController
 @RequiredArgsConstructor
@@ -19,6 +23,7 @@ import java.time.Duration;
 public class UserQueueController {
 
     private final UserQueueService userQueueService;
+    private final QueueStatsService queueStatsService;
 
     /**
      * 사용자를 대기 큐에 등록
@@ -32,7 +37,9 @@ public class UserQueueController {
                                                    @RequestParam(name = "user-id") Long userId) {
 
         return userQueueService.registerWaitQueue(queue, userId)
-                .map(RegisterUserResponse::new);
+                .flatMap(registration -> registration.isNew()
+                        ? Mono.just(new RegisterUserResponse(registration.rank()))
+                        : Mono.error(ErrorCode.QUEUE_ALREADY_REGISTERED_USER.build()));
     }
 
     /**
@@ -92,6 +99,7 @@ public class UserQueueController {
                               ServerWebExchange exchange) {
         return Mono.defer(() -> userQueueService.generateToken(queue, userId))
                 .map(token -> {
+                    queueStatsService.recordTouch(queue, Instant.now().getEpochSecond());
                     exchange.getResponse().addCookie(
                             ResponseCookie.from("user-queue-%s-token".formatted(queue), token)
                                     .maxAge(Duration.ofSeconds(300))
@@ -101,4 +109,15 @@ public class UserQueueController {
                     return token;
                 });
     }
+
+    /**
+     * 큐 통계 조회
+     *
+     * @param queue 큐 이름
+     * @return 도착률, 입장률, 이탈률, 입장까지 걸린 시간 백분위가 담긴 dto
+     */
+    @GetMapping("/stats")
+    public Mono<QueueStatsResponse> getStats(@RequestParam(name = "queue", defaultValue = "default") String queue) {
+        return Mono.fromSupplier(() -> queueStatsService.getStats(queue));
+    }
 }
@@ -42,6 +42,7 @@ public class WaitingRoomController {
                                     .modelAttribute("queueFront", res.queueFront())
                                     .modelAttribute("queueBack", res.queueBack())
                                     .modelAttribute("progress", res.progress())
+                                    .modelAttribute("etaSeconds", res.etaSeconds())
                                     .build();
                         }));
     }
@@ -0,0 +1,7 @@
+package me.progfrog.idol.flow.dto;
+
+public record QueueImportResponse(
+        String queue,
+        Long importedCount
+) {
+}
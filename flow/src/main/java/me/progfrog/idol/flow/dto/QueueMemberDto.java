@@ -0,0 +1,8 @@
+package me.progfrog.idol.flow.dto;
+
+public record QueueMemberDto(
+        String set,
+        Long userId,
+        Double score
+) {
+}
@@ -0,0 +1,9 @@
+package me.progfrog.idol.flow.dto;
+
+public record QueueMigrationResponse(
+        String queue,
+        String target,
+        Long waitCount,
+        Long allowCount
+) {
+}
@@ -0,0 +1,22 @@
+package me.progfrog.idol.flow.dto;
+
+/**
+ * 큐 통계
+ * clusterAdmissionRate 만 모든 서버가 함께 쓰는 입장 큐 크기에서 계산한 전체 서버 기준 값이고,
+ * 나머지(도착률, 입장률, 이탈률, 대기 시간)는 응답한 서버 한 대에서 처리한 요청만 집계한 값이다.
+ *
+ * @param clusterAdmissionRate 전체 서버의 초당 입장 수 (계산할 수 없으면 -1)
+ */
+public record QueueStatsResponse(
+        String queue,
+        Double arrivalRate,
+        Double admissionRate,
+        Double clusterAdmissionRate,
+        Double abandonmentRate,
+        Long admittedCount,
+        Long waitTimeP50,
+        Long waitTimeP90,
+        Long waitTimeP99,
+        Long waitTimeMax
+) {
+}
@@ -3,6 +3,7 @@ package me.progfrog.idol.flow.dto;
 public record QueueStatusDto(
         Long userRank,
         Long totalQueueSize,
-        Double progress
+        Double progress,
+        Long etaSeconds
 ) {
 }
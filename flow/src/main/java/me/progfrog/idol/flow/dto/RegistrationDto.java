@@ -0,0 +1,7 @@
+package me.progfrog.idol.flow.dto;
+
+public record RegistrationDto(
+        Boolean isNew,
+        Long rank
+) {
+}
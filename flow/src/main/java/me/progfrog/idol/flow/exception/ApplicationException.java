@@ -1,14 +1,23 @@
 package me.progfrog.idol.flow.exception;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
-@AllArgsConstructor
+/**
+ * 예상된 비즈니스 오류
+ * 응답 코드와 사유만 전달하면 되므로 스택 트레이스를 채우지 않는다.
+ */
 @Getter
 public class ApplicationException extends RuntimeException {
 
-    private HttpStatus httpStatus;
-    private String code;
-    private String reason;
+    private final HttpStatus httpStatus;
+    private final String code;
+    private final String reason;
+
+    public ApplicationException(HttpStatus httpStatus, String code, String reason) {
+        super(reason, null, false, false);
+        this.httpStatus = httpStatus;
+        this.code = code;
+        this.reason = reason;
+    }
 }
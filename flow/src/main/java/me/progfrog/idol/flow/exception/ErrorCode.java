@@ -6,7 +6,14 @@ import org.springframework.http.HttpStatus;
 @AllArgsConstructor
 public enum ErrorCode {
 
-    QUEUE_ALREADY_REGISTERED_USER(HttpStatus.CONFLICT, "UQ-0001", "이미 대기열에 등록된 사용자 입니다.");
+    QUEUE_ALREADY_REGISTERED_USER(HttpStatus.CONFLICT, "UQ-0001", "이미 대기열에 등록된 사용자 입니다."),
+    QUEUE_UNKNOWN_REDIS_BACKEND(HttpStatus.BAD_REQUEST, "UQ-0002", "설정되지 않은 Redis 입니다."),
+    QUEUE_ALREADY_ON_REDIS_BACKEND(HttpStatus.BAD_REQUEST, "UQ-0003", "이미 해당 Redis 에 있는 큐 입니다."),
+    QUEUE_MIGRATION_IN_PROGRESS(HttpStatus.CONFLICT, "UQ-0004", "이관 중인 큐 입니다."),
+    QUEUE_INVALID_MEMBER(HttpStatus.BAD_REQUEST, "UQ-0005", "올바르지 않은 큐 데이터 입니다."),
+    QUEUE_MIGRATION_NOT_ACKNOWLEDGED(HttpStatus.SERVICE_UNAVAILABLE, "UQ-0006", "이관 상태가 모든 서버에 반영되지 않았습니다."),
+    QUEUE_ROUTING_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "UQ-0007", "라우팅 정보를 확인할 수 없습니다."),
+    QUEUE_MIGRATION_NOT_FOUND(HttpStatus.BAD_REQUEST, "UQ-0008", "이관 중인 큐가 아닙니다.");
 
     private final HttpStatus httpStatus;
     private final String code;
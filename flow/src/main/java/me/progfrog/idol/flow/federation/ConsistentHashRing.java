@@ -0,0 +1,70 @@
+package me.progfrog.idol.flow.federation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 가상 노드를 사용하는 consistent hash ring
+ * 노드가 하나 추가되면 전체 키 중 약 1/N 만 새 노드로 옮겨진다.
+ *
+ * @param <T> 노드 타입
+ */
+public class ConsistentHashRing<T> {
+
+    private final TreeMap<Long, T> ring = new TreeMap<>();
+    private final List<T> nodes;
+
+    /**
+     * @param nodes 노드 이름과 노드
+     * @param virtualNodeCount 노드 하나당 가상 노드 수
+     */
+    public ConsistentHashRing(Map<String, T> nodes, int virtualNodeCount) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("노드가 최소 한 개 이상 필요합니다.");
+        }
+
+        nodes.forEach((name, node) -> {
+            for (int i = 0; i < virtualNodeCount; i++) {
+                ring.put(hash(name + "#" + i), node);
+            }
+        });
+        this.nodes = List.copyOf(nodes.values());
+    }
+
+    /**
+     * @param key 키 (큐 이름)
+     * @return 키가 배정된 노드
+     */
+    public T get(final String key) {
+        var entry = ring.ceilingEntry(hash(key));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public Collection<T> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 64-bit FNV-1a 해시 + MurmurHash3 fmix64 (가상 노드가 링에 고르게 퍼지도록)
+     *
+     * @param key 키
+     * @return 해시 값
+     */
+    static long hash(final String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,17 @@
+package me.progfrog.idol.flow.federation;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+
+/**
+ * 큐 하나의 라우팅 결과
+ *
+ * @param backend 읽기/쓰기에 사용하는 Redis 이름
+ * @param template 읽기/쓰기에 사용하는 Redis 의 템플릿
+ * @param mirror 이관 중이라면 같은 변경을 함께 반영할 Redis 의 템플릿, 아니라면 null
+ */
+public record QueueRoute(
+        String backend,
+        ReactiveRedisTemplate<String, Long> template,
+        ReactiveRedisTemplate<String, Long> mirror
+) {
+}
@@ -0,0 +1,89 @@
+package me.progfrog.idol.flow.overload;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 엔드포인트별 동시 처리 수 제한기
+ * Vegas / Gradient 방식으로, Redis 지연 시간이 기준보다 늘어나면 한도를 줄이고 회복되면 다시 늘린다.
+ * newLimit = limit * gradient + sqrt(limit)
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final long UPDATE_INTERVAL_NANOS = 100_000_000L;
+
+    private final RedisLatencyTracker latencyTracker;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double estimatedLimit;
+    private long lastUpdateNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(RedisLatencyTracker latencyTracker, int initialLimit, int minLimit, int maxLimit) {
+        this.latencyTracker = latencyTracker;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 처리 슬롯 획득 시도
+     *
+     * @return 획득 성공 여부 (실패 시 요청을 거절해야 함)
+     */
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리 슬롯 반납 및 한도 갱신
+     */
+    public void release() {
+        int current = inFlight.decrementAndGet();
+        updateLimit(current, System.nanoTime());
+    }
+
+    /**
+     * 한도 갱신 (UPDATE_INTERVAL_NANOS 마다 한 번)
+     *
+     * @param inFlightCount 현재 처리 중인 요청 수
+     * @param now 현재 시각(ns)
+     */
+    synchronized void updateLimit(final int inFlightCount, final long now) {
+        if (now - lastUpdateNanos < UPDATE_INTERVAL_NANOS) {
+            return;
+        }
+        lastUpdateNanos = now;
+
+        double limit = estimatedLimit;
+
+        // 한도의 절반도 쓰지 않고 있다면 지연 시간 정보가 한도를 판단하기에 충분하지 않음
+        if (inFlightCount < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * latencyTracker.gradient()));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,87 @@
+package me.progfrog.idol.flow.overload;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 클라이언트 IP 별 토큰 버킷
+ * 한 클라이언트(봇 등)가 처리 용량을 독점하지 못하도록 초당 요청 수를 제한한다.
+ * 버킷은 최대 maxClients 개까지만 만들고, 그 이후 새로 들어온 클라이언트는 버킷 하나를 함께 사용한다. (IP 를 바꿔가며 요청해도 메모리가 늘지 않음)
+ */
+public class ClientRateLimiter {
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final int maxClients;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+
+    public ClientRateLimiter(double permitsPerSecond, double burst, int maxClients) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.overflowBucket = new TokenBucket(burst, System.nanoTime());
+    }
+
+    /**
+     * 토큰 1개 소비 시도
+     *
+     * @param clientKey 클라이언트 식별자 (IP)
+     * @return 소비 성공 여부
+     */
+    public boolean tryConsume(final String clientKey) {
+        return tryConsume(clientKey, System.nanoTime());
+    }
+
+    boolean tryConsume(final String clientKey, final long nowNanos) {
+        var bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = buckets.size() < maxClients
+                    ? buckets.computeIfAbsent(clientKey, key -> new TokenBucket(burst, nowNanos))
+                    : overflowBucket;
+        }
+        return bucket.tryConsume(permitsPerSecond, burst, nowNanos);
+    }
+
+    /**
+     * 일정 시간 이상 사용되지 않은 버킷 제거
+     *
+     * @param idleNanos 유휴 시간(ns)
+     */
+    public void evictIdle(final long idleNanos) {
+        evictIdle(idleNanos, System.nanoTime());
+    }
+
+    void evictIdle(final long idleNanos, final long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos, idleNanos));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private static final class TokenBucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(double tokens, long nowNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        private synchronized boolean tryConsume(double permitsPerSecond, double burst, long now) {
+            tokens = Math.min(burst, tokens + Math.max(0, now - lastRefillNanos) / 1_000_000_000.0 * permitsPerSecond);
+            lastRefillNanos = Math.max(lastRefillNanos, now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        private synchronized boolean isIdle(long now, long idleNanos) {
+            return now - lastRefillNanos > idleNanos;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package me.progfrog.idol.flow.overload;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 과부하 보호 필터
+ * Redis 지연이 치솟을 때 처리하지 못할 요청을 쌓아두지 않고 즉시 503 으로 거절한다.
+ * 1. 클라이언트 IP 별 토큰 버킷 (선택, 로드 밸런서 뒤라면 overload.client.key-header 로 클라이언트 IP 를 읽음)
+ * 2. 엔드포인트별 적응형 동시 처리 수 제한
+ */
+@Component
+@Slf4j
+public class OverloadProtectionFilter implements WebFilter {
+
+    private static final long CLIENT_IDLE_NANOS = Duration.ofMinutes(5).toNanos();
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters;
+    private final ClientRateLimiter clientRateLimiter;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final String clientKeyHeader;
+    private final LongAdder overloadedCount = new LongAdder();
+    private final LongAdder rateLimitedCount = new LongAdder();
+
+    public OverloadProtectionFilter(RedisLatencyTracker latencyTracker,
+                                    @Value("${overload.enabled:true}") boolean enabled,
+                                    @Value("${overload.limit.initial:200}") int initialLimit,
+                                    @Value("${overload.limit.min:10}") int minLimit,
+                                    @Value("${overload.limit.max:2000}") int maxLimit,
+                                    @Value("${overload.retry-after-seconds:3}") int retryAfterSeconds,
+                                    @Value("${overload.client.enabled:false}") boolean clientLimitEnabled,
+                                    @Value("${overload.client.permits-per-second:5}") double permitsPerSecond,
+                                    @Value("${overload.client.burst:10}") double burst,
+                                    @Value("${overload.client.max-clients:100000}") int maxClients,
+                                    @Value("${overload.client.key-header:}") String clientKeyHeader) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.limiters = Map.of(
+                "/api/v1/queue", new AdaptiveConcurrencyLimiter(latencyTracker, initialLimit, minLimit, maxLimit),
+                "/api/v1/queue/progress", new AdaptiveConcurrencyLimiter(latencyTracker, initialLimit, minLimit, maxLimit),
+                "/waiting-room", new AdaptiveConcurrencyLimiter(latencyTracker, initialLimit, minLimit, maxLimit)
+        );
+        this.clientRateLimiter = clientLimitEnabled ? new ClientRateLimiter(permitsPerSecond, burst, maxClients) : null;
+        this.clientKeyHeader = clientKeyHeader;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        var limiter = limiters.get(exchange.getRequest().getPath().value());
+        if (limiter == null) {
+            return chain.filter(exchange);
+        }
+
+        if (clientRateLimiter != null && !clientRateLimiter.tryConsume(getClientKey(exchange))) {
+            rateLimitedCount.increment();
+            return reject(exchange, HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        if (!limiter.tryAcquire()) {
+            // 과부하 상황에서 요청마다 로그를 남기지 않도록 개수만 세고, reportRejections() 에서 모아서 남김
+            overloadedCount.increment();
+            return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        return chain.filter(exchange)
+                .doFinally(signalType -> limiter.release());
+    }
+
+    /**
+     * 요청 거절 (본문 없이 즉시 응답)
+     *
+     * @param exchange HTTP 요청
+     * @param status 응답 상태 코드
+     * @return 응답 완료
+     */
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        var response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        return response.setComplete();
+    }
+
+    /**
+     * overload.client.key-header 가 지정되어 있다면 해당 헤더의 마지막 값(가장 가까운 프록시가 추가한 값)을 사용하고,
+     * 아니라면 접속한 IP 를 사용
+     *
+     * @param exchange HTTP 요청
+     * @return 클라이언트 IP (알 수 없으면 "unknown")
+     */
+    String getClientKey(ServerWebExchange exchange) {
+        if (!clientKeyHeader.isEmpty()) {
+            var headerValue = exchange.getRequest().getHeaders().getFirst(clientKeyHeader);
+            if (headerValue != null && !headerValue.isBlank()) {
+                var addresses = headerValue.split(",");
+                return addresses[addresses.length - 1].trim();
+            }
+        }
+
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+
+    /**
+     * 오래 사용되지 않은 클라이언트 버킷 정리
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void evictIdleClients() {
+        if (clientRateLimiter == null) {
+            return;
+        }
+        clientRateLimiter.evictIdle(CLIENT_IDLE_NANOS);
+    }
+
+    /**
+     * 거절된 요청 수를 주기적으로 한 번에 기록
+     */
+    @Scheduled(initialDelay = 10000, fixedDelay = 10000)
+    public void reportRejections() {
+        long overloaded = overloadedCount.sumThenReset();
+        long rateLimited = rateLimitedCount.sumThenReset();
+        if (overloaded == 0 && rateLimited == 0) {
+            return;
+        }
+
+        log.warn("overload - rejected {} requests (503), {} requests (429) in the last 10s, limits: {}",
+                overloaded, rateLimited, getLimits());
+    }
+
+    /**
+     * @return 엔드포인트별 현재 동시 처리 한도
+     */
+    Map<String, Integer> getLimits() {
+        Map<String, Integer> limits = new TreeMap<>();
+        limiters.forEach((path, limiter) -> limits.put(path, limiter.getLimit()));
+        return limits;
+    }
+
+    long getOverloadedCount() {
+        return overloadedCount.sum();
+    }
+
+    long getRateLimitedCount() {
+        return rateLimitedCount.sum();
+    }
+}
@@ -0,0 +1,84 @@
+package me.progfrog.idol.flow.overload;
+
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 명령 지연 시간 추적기
+ * Lettuce 가 명령을 완료할 때마다 호출되며, 단기/장기 지수 이동 평균(EWMA)을 유지한다.
+ * 단기 평균은 현재 상태를, 장기 평균은 "정상일 때"의 기준 지연 시간을 나타낸다.
+ * 모든 Lettuce 이벤트 루프 스레드에서 호출되므로 락 대신 CAS 로 갱신한다. (double 값을 long 비트로 저장)
+ */
+@Component
+public class RedisLatencyTracker implements CommandLatencyRecorder {
+
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.002;
+
+    private final AtomicLong shortRttBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final AtomicLong longRttBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+
+    @Override
+    public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+                                     long firstResponseLatency, long completionLatency) {
+        record(completionLatency);
+    }
+
+    /**
+     * 지연 시간 샘플 반영
+     *
+     * @param rttNanos 명령 완료까지 걸린 시간(ns)
+     */
+    public void record(final long rttNanos) {
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        double shortRtt = updateShortRtt(rttNanos);
+        updateLongRtt(rttNanos, shortRtt);
+    }
+
+    /**
+     * @return 기준 지연 / 현재 지연 (샘플이 없으면 1.0)
+     */
+    public double gradient() {
+        double shortRtt = Double.longBitsToDouble(shortRttBits.get());
+        double longRtt = Double.longBitsToDouble(longRttBits.get());
+        if (shortRtt == 0 || longRtt == 0) {
+            return 1.0;
+        }
+        return longRtt / shortRtt;
+    }
+
+    private double updateShortRtt(final long rttNanos) {
+        while (true) {
+            long currentBits = shortRttBits.get();
+            double current = Double.longBitsToDouble(currentBits);
+            double next = current == 0 ? rttNanos : current + SHORT_ALPHA * (rttNanos - current);
+            if (shortRttBits.compareAndSet(currentBits, Double.doubleToRawLongBits(next))) {
+                return next;
+            }
+        }
+    }
+
+    private void updateLongRtt(final long rttNanos, final double shortRtt) {
+        while (true) {
+            long currentBits = longRttBits.get();
+            double current = Double.longBitsToDouble(currentBits);
+            double next = current == 0 ? rttNanos : current + LONG_ALPHA * (rttNanos - current);
+
+            // 부하가 해소되어 단기 지연이 기준보다 크게 낮아지면 기준도 빠르게 따라 내려오게 함
+            if (next > shortRtt * 2) {
+                next *= 0.95;
+            }
+
+            if (longRttBits.compareAndSet(currentBits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
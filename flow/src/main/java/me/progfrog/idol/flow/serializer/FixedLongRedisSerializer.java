@@ -0,0 +1,32 @@
+package me.progfrog.idol.flow.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Long 을 고정 8바이트 big-endian 으로 저장
+ * 10진수 문자열(최대 19바이트)보다 작고, 크기가 일정하다.
+ */
+public class FixedLongRedisSerializer implements RedisSerializer<Long> {
+
+    @Override
+    public byte[] serialize(Long value) {
+        if (value == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+
+    @Override
+    public Long deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new SerializationException("8바이트 값이 아닙니다. (length: %d)".formatted(bytes.length));
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
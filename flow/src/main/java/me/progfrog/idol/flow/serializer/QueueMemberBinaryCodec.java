@@ -0,0 +1,83 @@
+package me.progfrog.idol.flow.serializer;
+
+import me.progfrog.idol.flow.dto.QueueMemberDto;
+import me.progfrog.idol.flow.exception.ErrorCode;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 큐 내보내기/가져오기용 바이너리 형식
+ * 멤버 하나당 17바이트: 큐 종류(1바이트, 0: wait, 1: allow) + 사용자 ID(8바이트) + score(8바이트), big-endian
+ */
+public final class QueueMemberBinaryCodec {
+
+    public static final int RECORD_SIZE = 1 + Long.BYTES + Double.BYTES;
+
+    private static final byte WAIT = 0;
+    private static final byte ALLOW = 1;
+
+    private QueueMemberBinaryCodec() {
+    }
+
+    /**
+     * @param members 멤버 목록
+     * @param bufferFactory 응답 버퍼 팩토리
+     * @return 인코딩된 버퍼
+     */
+    public static DataBuffer encode(final List<QueueMemberDto> members, final DataBufferFactory bufferFactory) {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(members.size() * RECORD_SIZE);
+        for (QueueMemberDto member : members) {
+            byteBuffer.put("allow".equals(member.set()) ? ALLOW : WAIT)
+                    .putLong(member.userId())
+                    .putDouble(member.score());
+        }
+        return bufferFactory.wrap(byteBuffer.array());
+    }
+
+    /**
+     * 버퍼 경계에 걸친 레코드도 이어 붙여 디코딩
+     *
+     * @param buffers 요청 본문
+     * @return 멤버 스트림
+     */
+    public static Flux<QueueMemberDto> decode(final Flux<DataBuffer> buffers) {
+        return Flux.defer(() -> {
+            var pending = ByteBuffer.allocate(RECORD_SIZE);
+            return buffers
+                    .concatMapIterable(dataBuffer -> {
+                        List<QueueMemberDto> members = new ArrayList<>();
+                        try {
+                            while (dataBuffer.readableByteCount() > 0) {
+                                pending.put(dataBuffer.read());
+                                if (!pending.hasRemaining()) {
+                                    pending.flip();
+                                    members.add(decodeRecord(pending));
+                                    pending.clear();
+                                }
+                            }
+                        } finally {
+                            DataBufferUtils.release(dataBuffer);
+                        }
+                        return members;
+                    })
+                    .concatWith(Mono.defer(() -> pending.position() == 0
+                            ? Mono.empty()
+                            : Mono.error(ErrorCode.QUEUE_INVALID_MEMBER.build())));
+        });
+    }
+
+    private static QueueMemberDto decodeRecord(final ByteBuffer record) {
+        byte set = record.get();
+        if (set != WAIT && set != ALLOW) {
+            throw ErrorCode.QUEUE_INVALID_MEMBER.build();
+        }
+        return new QueueMemberDto(set == ALLOW ? "allow" : "wait", record.getLong(), record.getDouble());
+    }
+}
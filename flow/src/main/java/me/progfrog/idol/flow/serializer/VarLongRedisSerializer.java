@@ -0,0 +1,59 @@
+package me.progfrog.idol.flow.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Long 을 unsigned LEB128 varint 로 저장
+ * 7비트씩 나눠 담으므로 작은 값일수록 적은 바이트를 쓴다. (예: 1억 이하 4바이트, 음수는 10바이트)
+ */
+public class VarLongRedisSerializer implements RedisSerializer<Long> {
+
+    private static final int MAX_BYTES = 10;
+
+    @Override
+    public byte[] serialize(Long value) {
+        if (value == null) {
+            return null;
+        }
+
+        byte[] buffer = new byte[MAX_BYTES];
+        long v = value;
+        int length = 0;
+        while ((v & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buffer[length++] = (byte) v;
+
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, 0, bytes, 0, length);
+        return bytes;
+    }
+
+    @Override
+    public Long deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length == 0 || bytes.length > MAX_BYTES) {
+            throw new SerializationException("올바른 varint 가 아닙니다. (length: %d)".formatted(bytes.length));
+        }
+
+        long value = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            // 10번째 바이트에는 64번째 비트 하나만 남아 있음
+            if (i == MAX_BYTES - 1 && (bytes[i] & 0x7F) > 1) {
+                throw new SerializationException("varint 가 Long 범위를 벗어납니다.");
+            }
+            value |= (long) (bytes[i] & 0x7F) << (7 * i);
+            if ((bytes[i] & 0x80) == 0) {
+                if (i != bytes.length - 1) {
+                    throw new SerializationException("varint 뒤에 남은 바이트가 있습니다.");
+                }
+                return value;
+            }
+        }
+        throw new SerializationException("varint 가 끝나지 않았습니다.");
+    }
+}
@@ -0,0 +1,186 @@
+package me.progfrog.idol.flow.service;
+
+import me.progfrog.idol.flow.dto.QueueStatsResponse;
+import me.progfrog.idol.flow.stats.QueueStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 큐별 통계 (도착률, 입장까지 걸린 시간, 이탈률, 예상 대기 시간)
+ * 입장 큐 크기 변화로 계산하는 입장률, 예상 대기 시간을 제외하면 이 서버에서 처리한 요청만 집계한다.
+ * 등록/입장/토큰 발급 시점과 대기 상태 조회 시점에 메모리 상의 통계를 갱신한다. (Redis 를 스캔하지 않음)
+ * 실제로 존재하는 큐만 기록하고, 최대 stats.max-queues 개까지만 유지하며, 오래 갱신되지 않은 큐는 제거한다.
+ */
+@Service
+public class QueueStatsService {
+
+    private final ConcurrentMap<String, QueueStats> statsByQueue = new ConcurrentHashMap<>();
+    private final int windowSeconds;
+    private final int maxQueues;
+    private final long idleSeconds;
+
+    public QueueStatsService(@Value("${stats.window-seconds:60}") int windowSeconds,
+                             @Value("${stats.max-queues:1000}") int maxQueues,
+                             @Value("${stats.idle-seconds:600}") long idleSeconds) {
+        this.windowSeconds = windowSeconds;
+        this.maxQueues = maxQueues;
+        this.idleSeconds = idleSeconds;
+    }
+
+    /**
+     * 대기 큐 등록 기록
+     *
+     * @param queue 대기 큐 이름
+     * @param unixTimestamp 등록 시각
+     */
+    public void recordArrival(final String queue, final long unixTimestamp) {
+        var stats = getOrCreate(queue, unixTimestamp);
+        if (stats != null) {
+            stats.getArrivals().add(unixTimestamp, 1);
+        }
+    }
+
+    /**
+     * 입장 큐 전환 기록
+     *
+     * @param queue 대기 큐 이름
+     * @param registeredTimestamp 대기 큐 등록 시각 (대기 큐의 score)
+     * @param unixTimestamp 입장 시각
+     */
+    public void recordAdmission(final String queue, final long registeredTimestamp, final long unixTimestamp) {
+        var stats = getOrCreate(queue, unixTimestamp);
+        if (stats != null) {
+            stats.getAdmissions().add(unixTimestamp, 1);
+            stats.getWaitTimeHistogram().record(unixTimestamp - registeredTimestamp);
+        }
+    }
+
+    /**
+     * 토큰 발급(입장 완료) 기록
+     * 누구나 호출할 수 있는 API 에서 불리므로, 이미 통계가 있는 큐만 기록
+     *
+     * @param queue 큐 이름
+     * @param unixTimestamp 발급 시각
+     */
+    public void recordTouch(final String queue, final long unixTimestamp) {
+        var stats = statsByQueue.get(queue);
+        if (stats != null) {
+            stats.getTouches().add(unixTimestamp, 1);
+            stats.markUpdated(unixTimestamp);
+        }
+    }
+
+    /**
+     * 입장 큐 크기 기록 (대기 상태 조회 시 Redis 에서 읽은 값)
+     *
+     * @param queue 큐 이름
+     * @param allowQueueSize 입장 큐 크기
+     * @param unixTimestamp 조회 시각
+     */
+    public void recordAllowQueueSize(final String queue, final long allowQueueSize, final long unixTimestamp) {
+        var stats = getOrCreate(queue, unixTimestamp);
+        if (stats != null) {
+            stats.getAllowQueueSize().record(unixTimestamp, allowQueueSize);
+        }
+    }
+
+    /**
+     * 예상 입장 대기 시간 계산
+     * 노드마다 입장 처리량이 다르므로, 모든 노드가 함께 쓰는 입장 큐의 크기 변화로 입장률을 구함
+     *
+     * @param queue 대기 큐 이름
+     * @param userRank 사용자의 대기 번호
+     * @param unixTimestamp 현재 시각
+     * @return 예상 대기 시간(초), 계산할 수 없으면 -1
+     */
+    public long estimateEtaSeconds(final String queue, final Long userRank, final long unixTimestamp) {
+        if (userRank <= 0) {
+            return userRank == 0 ? 0 : -1;
+        }
+
+        QueueStats stats = statsByQueue.get(queue);
+        if (stats == null) {
+            return -1;
+        }
+
+        double admissionRate = stats.getAllowQueueSize().ratePerSecond(unixTimestamp);
+        if (admissionRate <= 0) {
+            return -1;
+        }
+
+        return (long) Math.ceil(userRank / admissionRate);
+    }
+
+    /**
+     * 통계 조회
+     *
+     * @param queue 큐 이름
+     * @return 윈도우 내 초당 도착/입장 수, 이탈률, 대기 시간(초) 백분위
+     */
+    public QueueStatsResponse getStats(final String queue) {
+        return getStats(queue, Instant.now().getEpochSecond());
+    }
+
+    QueueStatsResponse getStats(final String queue, final long unixTimestamp) {
+        QueueStats stats = statsByQueue.get(queue);
+        if (stats == null) {
+            return new QueueStatsResponse(queue, 0.0, 0.0, -1.0, 0.0, 0L, 0L, 0L, 0L, 0L);
+        }
+
+        long admitted = stats.getAdmissions().sum(unixTimestamp);
+        long touched = stats.getTouches().sum(unixTimestamp);
+        double abandonmentRate = admitted == 0 ? 0.0 : Math.max(0.0, 1.0 - (double) touched / admitted);
+
+        var histogram = stats.getWaitTimeHistogram();
+        return new QueueStatsResponse(
+                queue,
+                stats.getArrivals().ratePerSecond(unixTimestamp),
+                stats.getAdmissions().ratePerSecond(unixTimestamp),
+                stats.getAllowQueueSize().ratePerSecond(unixTimestamp),
+                abandonmentRate,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99),
+                histogram.getMaxValue()
+        );
+    }
+
+    /**
+     * 오래 갱신되지 않은 큐의 통계 제거
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void evictIdleQueues() {
+        evictIdleQueues(Instant.now().getEpochSecond());
+    }
+
+    void evictIdleQueues(final long unixTimestamp) {
+        statsByQueue.values().removeIf(stats -> unixTimestamp - stats.getLastUpdatedEpochSecond() > idleSeconds);
+    }
+
+    int size() {
+        return statsByQueue.size();
+    }
+
+    /**
+     * @param queue 큐 이름
+     * @param unixTimestamp 현재 시각
+     * @return 큐 통계, 이미 stats.max-queues 개의 큐를 기록 중이라면 null
+     */
+    private QueueStats getOrCreate(final String queue, final long unixTimestamp) {
+        var stats = statsByQueue.get(queue);
+        if (stats == null) {
+            if (statsByQueue.size() >= maxQueues) {
+                return null;
+            }
+            stats = statsByQueue.computeIfAbsent(queue, key -> new QueueStats(windowSeconds, unixTimestamp));
+        }
+        stats.markUpdated(unixTimestamp);
+        return stats;
+    }
+}
@@ -0,0 +1,320 @@
+package me.progfrog.idol.flow.service;
+
+import lombok.extern.slf4j.Slf4j;
+import me.progfrog.idol.flow.dto.QueueImportResponse;
+import me.progfrog.idol.flow.dto.QueueMemberDto;
+import me.progfrog.idol.flow.dto.QueueMigrationResponse;
+import me.progfrog.idol.flow.exception.ErrorCode;
+import me.progfrog.idol.flow.federation.RedisBackendRouter;
+import me.progfrog.idol.flow.federation.RedisBackendRouter.MigrationPhase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static me.progfrog.idol.flow.service.UserQueueService.USER_QUEUE_ALLOW_KEY;
+import static me.progfrog.idol.flow.service.UserQueueService.USER_QUEUE_WAIT_KEY;
+
+/**
+ * 큐 내보내기 / 가져오기 / Redis 간 이관
+ * ZSCAN 커서로 조금씩 읽고 배치 단위로 ZADD 하므로, 큐 크기와 상관없이 메모리 사용량이 일정하다.
+ */
+@Service
+@Slf4j
+public class QueueTransferService {
+
+    private static final String WAIT = "wait";
+    private static final String ALLOW = "allow";
+
+    private final RedisBackendRouter redisBackendRouter;
+    private final int batchSize;
+    private final int pipelineDepth;
+
+    public QueueTransferService(RedisBackendRouter redisBackendRouter,
+                                @Value("${transfer.batch-size:500}") int batchSize,
+                                @Value("${transfer.pipeline-depth:4}") int pipelineDepth) {
+        this.redisBackendRouter = redisBackendRouter;
+        this.batchSize = batchSize;
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    /**
+     * 큐 내보내기 (대기 큐 → 입장 큐 순서)
+     *
+     * @param queue 큐 이름
+     * @return 멤버 스트림
+     */
+    public Flux<QueueMemberDto> exportQueue(final String queue) {
+        return redisBackendRouter.route(queue)
+                .flatMapMany(route -> Flux.concat(
+                        scan(route.template(), USER_QUEUE_WAIT_KEY.formatted(queue))
+                                .map(tuple -> new QueueMemberDto(WAIT, tuple.getValue(), tuple.getScore())),
+                        scan(route.template(), USER_QUEUE_ALLOW_KEY.formatted(queue))
+                                .map(tuple -> new QueueMemberDto(ALLOW, tuple.getValue(), tuple.getScore()))));
+    }
+
+    /**
+     * 큐 가져오기
+     * batchSize 개씩 묶어 ZADD 하고, 최대 pipelineDepth 개의 명령을 동시에 보낸다. (파이프라이닝)
+     *
+     * @param queue 큐 이름
+     * @param members 멤버 스트림
+     * @return 새로 추가된 멤버 수
+     */
+    public Mono<QueueImportResponse> importQueue(final String queue, final Flux<QueueMemberDto> members) {
+        return redisBackendRouter.withRoute(queue, route -> {
+            if (route.mirror() != null) {
+                return Mono.error(ErrorCode.QUEUE_MIGRATION_IN_PROGRESS.build());
+            }
+
+            return members
+                    .buffer(batchSize)
+                    .flatMap(batch -> Flux.fromIterable(groupByKey(queue, batch).entrySet())
+                            .flatMap(entry -> route.template().opsForZSet().addAll(entry.getKey(), entry.getValue())), pipelineDepth)
+                    .reduce(0L, Long::sum)
+                    .map(importedCount -> new QueueImportResponse(queue, importedCount));
+        });
+    }
+
+    /**
+     * 큐를 다른 Redis 로 이관
+     * 각 단계는 모든 서버가 반영(ack)한 뒤에 다음 단계로 넘어간다.
+     * 1. PREPARE - 같은 큐의 이관을 막고, 대상 Redis 에 남아 있는 이전 데이터 삭제
+     * 2. COPY - 등록/입장 처리를 대상 Redis 에도 반영 (dual write), 조회는 기존 Redis 에서 처리
+     * 3. 기존 Redis 의 대기 큐, 입장 큐를 ZSCAN 으로 읽어 대상 Redis 에 복사한 뒤, 복사 중 입장 처리된 사용자를 대상 Redis 의 대기 큐에서 제거
+     * 4. SWITCH - 조회를 대상 Redis 에서 처리, 등록/입장 처리는 기존 Redis 에도 반영
+     * 5. 완료 - 큐가 대상 Redis 만 사용하도록 저장한 뒤, 기존 Redis 의 큐 삭제
+     * 3단계까지 실패하면 기존 Redis 를 계속 사용하도록 되돌리고, 4단계부터는 두 Redis 에 모두 반영되는 상태를 유지한다.
+     * SWITCH 단계에서 멈춘 큐를 같은 대상 Redis 로 다시 요청하면 5단계부터 이어서 진행한다. (되돌리려면 abortMigration)
+     * 요청이 끊겨도 이관은 끝까지 진행한다.
+     *
+     * @param queue 큐 이름
+     * @param targetBackend 대상 Redis (redis.backends 중 하나)
+     * @return 복사된 멤버 수
+     */
+    public Mono<QueueMigrationResponse> migrateQueue(final String queue, final String targetBackend) {
+        return migrateQueue(queue, targetBackend, UnaryOperator.identity());
+    }
+
+    /**
+     * @param waitMembers 복사할 대기 큐 멤버 스트림에 적용할 처리 (테스트에서 복사 중 등록/입장 처리를 끼워 넣을 때 사용)
+     */
+    Mono<QueueMigrationResponse> migrateQueue(final String queue,
+                                              final String targetBackend,
+                                              final UnaryOperator<Flux<TypedTuple<Long>>> waitMembers) {
+        var target = redisBackendRouter.getTemplateByBackend(targetBackend).orElse(null);
+        if (target == null) {
+            return Mono.error(ErrorCode.QUEUE_UNKNOWN_REDIS_BACKEND.build());
+        }
+
+        var migration = redisBackendRouter.lockMigration(queue, targetBackend)
+                .flatMap(isLocked -> isLocked
+                        ? startMigration(queue, targetBackend, target, waitMembers)
+                        : resumeMigration(queue, targetBackend, target));
+
+        return Mono.defer(() -> Mono.fromFuture(migration.toFuture(), true));
+    }
+
+    /**
+     * 멈춘 이관 되돌리기 (진행 중인 이관 요청이 없을 때 사용)
+     * PREPARE, COPY 단계라면 대상 Redis 의 데이터를 지우고 이관을 종료한다.
+     * SWITCH 단계라면 기존 Redis 에도 계속 반영되어 있으므로, COPY 단계로 돌려 기존 Redis 에서 조회하게 한 뒤 같은 방법으로 종료한다.
+     *
+     * @param queue 큐 이름
+     * @return 완료, 이관 중이 아니라면 QUEUE_MIGRATION_NOT_FOUND, 이미 대상 Redis 로 전환되었다면 QUEUE_ALREADY_ON_REDIS_BACKEND
+     */
+    public Mono<Void> abortMigration(final String queue) {
+        var abort = redisBackendRouter.refresh()
+                .then(redisBackendRouter.getMigration(queue))
+                .switchIfEmpty(Mono.error(ErrorCode.QUEUE_MIGRATION_NOT_FOUND.build()))
+                .flatMap(migration -> redisBackendRouter.route(queue).flatMap(route -> {
+                    var target = redisBackendRouter.getTemplateByBackend(migration.targetBackend()).orElse(null);
+                    // 대상 Redis 가 큐의 Redis 라면 지우지 않음
+                    boolean isSwitched = route.backend().equals(migration.targetBackend()) && route.mirror() == null;
+                    if (isSwitched && migration.phase() == MigrationPhase.SWITCH) {
+                        return Mono.<Void>error(ErrorCode.QUEUE_ALREADY_ON_REDIS_BACKEND.build());
+                    }
+                    if (isSwitched || target == null) {
+                        return redisBackendRouter.releaseMigration(queue);
+                    }
+
+                    var toSource = migration.phase() == MigrationPhase.SWITCH
+                            ? redisBackendRouter.publishMigration(queue, MigrationPhase.COPY, migration.targetBackend())
+                            : Mono.<Void>empty();
+                    return toSource
+                            .then(redisBackendRouter.publishMigration(queue, MigrationPhase.PREPARE, migration.targetBackend()))
+                            .then(target.delete(USER_QUEUE_WAIT_KEY.formatted(queue), USER_QUEUE_ALLOW_KEY.formatted(queue)))
+                            .then(redisBackendRouter.releaseMigration(queue))
+                            .doOnSuccess(released -> log.info("abortMigration() - queue: {}, migration: {}", queue, migration));
+                }));
+
+        return Mono.defer(() -> Mono.fromFuture(abort.toFuture(), true));
+    }
+
+    private Mono<QueueMigrationResponse> startMigration(final String queue,
+                                                        final String targetBackend,
+                                                        final ReactiveRedisTemplate<String, Long> target,
+                                                        final UnaryOperator<Flux<TypedTuple<Long>>> waitMembers) {
+        return redisBackendRouter.refresh()
+                .then(redisBackendRouter.withRoute(queue, Mono::just))
+                .onErrorResume(throwable -> redisBackendRouter.releaseMigration(queue).then(Mono.error(throwable)))
+                .flatMap(route -> {
+                    var sourceBackend = route.backend();
+                    if (sourceBackend.equals(targetBackend)) {
+                        return redisBackendRouter.releaseMigration(queue)
+                                .then(Mono.<QueueMigrationResponse>error(ErrorCode.QUEUE_ALREADY_ON_REDIS_BACKEND.build()));
+                    }
+
+                    var source = redisBackendRouter.getTemplateByBackend(sourceBackend).orElseThrow();
+                    return migrateQueue(queue, source, targetBackend, target, waitMembers);
+                });
+    }
+
+    /**
+     * SWITCH 단계에서 멈춘 이관 마무리 (모든 서버 반영 → 완료 → 대상 Redis 가 아닌 Redis 의 큐 삭제)
+     * 기존 Redis 에도 계속 반영되어 있었으므로 다시 복사하지 않고, 멤버 수는 대상 Redis 의 큐 크기로 돌려준다.
+     */
+    private Mono<QueueMigrationResponse> resumeMigration(final String queue,
+                                                         final String targetBackend,
+                                                         final ReactiveRedisTemplate<String, Long> target) {
+        var waitKey = USER_QUEUE_WAIT_KEY.formatted(queue);
+        var allowKey = USER_QUEUE_ALLOW_KEY.formatted(queue);
+
+        return redisBackendRouter.getMigration(queue)
+                .filter(migration -> migration.phase() == MigrationPhase.SWITCH && migration.targetBackend().equals(targetBackend))
+                .switchIfEmpty(Mono.error(ErrorCode.QUEUE_MIGRATION_IN_PROGRESS.build()))
+                .then(redisBackendRouter.publishMigration(queue, MigrationPhase.SWITCH, targetBackend))
+                .then(redisBackendRouter.finishMigration(queue, targetBackend))
+                .thenMany(Flux.fromIterable(redisBackendRouter.getTemplates()))
+                .filter(template -> template != target)
+                .concatMap(source -> source.delete(waitKey, allowKey))
+                .then(Mono.zip(target.opsForZSet().size(waitKey), target.opsForZSet().size(allowKey)))
+                .doOnSuccess(tuple -> log.info("migrateQueue() - queue: {}, target: {}, resumed from switch", queue, targetBackend))
+                .map(tuple -> new QueueMigrationResponse(queue, targetBackend, tuple.getT1(), tuple.getT2()));
+    }
+
+    private Mono<QueueMigrationResponse> migrateQueue(final String queue,
+                                                      final ReactiveRedisTemplate<String, Long> source,
+                                                      final String targetBackend,
+                                                      final ReactiveRedisTemplate<String, Long> target,
+                                                      final UnaryOperator<Flux<TypedTuple<Long>>> waitMembers) {
+        var waitKey = USER_QUEUE_WAIT_KEY.formatted(queue);
+        var allowKey = USER_QUEUE_ALLOW_KEY.formatted(queue);
+
+        var backfill = target.delete(waitKey, allowKey)
+                .then(redisBackendRouter.publishMigration(queue, MigrationPhase.COPY, targetBackend))
+                .then(copy(source, target, waitKey, waitMembers))
+                .zipWhen(waitCount -> copy(source, target, allowKey, UnaryOperator.identity()))
+                .flatMap(tuple -> removeAdmitted(source, target, waitKey).thenReturn(tuple))
+                .onErrorResume(throwable -> rollback(queue, targetBackend, target, waitKey, allowKey)
+                        .then(Mono.error(throwable)));
+
+        return backfill
+                .flatMap(tuple -> redisBackendRouter.publishMigration(queue, MigrationPhase.SWITCH, targetBackend)
+                        .then(redisBackendRouter.finishMigration(queue, targetBackend))
+                        .then(source.delete(waitKey, allowKey))
+                        .doOnSuccess(deleted -> log.info("migrateQueue() - queue: {}, target: {}, wait: {}, allow: {}",
+                                queue, targetBackend, tuple.getT1(), tuple.getT2()))
+                        .doOnError(throwable -> log.error("migrateQueue() - queue: {}, target: {}, failed after copy, "
+                                + "source redis is kept and both redis stay in sync, retry or abort the migration: {}", queue, targetBackend, throwable.getMessage()))
+                        .thenReturn(new QueueMigrationResponse(queue, targetBackend, tuple.getT1(), tuple.getT2())));
+    }
+
+    /**
+     * 복사 단계까지 실패한 이관 되돌리기 (dual write 중단 → 대상 Redis 정리 → 이관 종료)
+     * 남은 데이터가 있더라도 다음 이관의 PREPARE 단계에서 삭제된다.
+     */
+    private Mono<Void> rollback(final String queue,
+                                final String targetBackend,
+                                final ReactiveRedisTemplate<String, Long> target,
+                                final String waitKey,
+                                final String allowKey) {
+        return redisBackendRouter.publishMigration(queue, MigrationPhase.PREPARE, targetBackend)
+                .onErrorComplete()
+                .then(target.delete(waitKey, allowKey))
+                .then(redisBackendRouter.releaseMigration(queue))
+                .doOnError(throwable -> log.error("migrateQueue() - queue: {}, rollback failed: {}", queue, throwable.getMessage()))
+                .onErrorComplete();
+    }
+
+    /**
+     * @param source 기존 Redis
+     * @param target 대상 Redis
+     * @param key 복사할 sorted set
+     * @param members 읽은 멤버 스트림에 적용할 처리
+     * @return 대상 Redis 에 새로 추가된 멤버 수
+     */
+    private Mono<Long> copy(final ReactiveRedisTemplate<String, Long> source,
+                            final ReactiveRedisTemplate<String, Long> target,
+                            final String key,
+                            final UnaryOperator<Flux<TypedTuple<Long>>> members) {
+        return members.apply(scan(source, key))
+                .buffer(batchSize)
+                .flatMap(batch -> target.opsForZSet().addAll(key, batch), pipelineDepth)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * 복사 중 입장 처리된 사용자를 대상 Redis 의 대기 큐에서 제거
+     * ZSCAN 으로 읽은 사용자가 복사되기 전에 입장 처리되면, 입장 처리는 대상 Redis 에 반영되었어도 복사로 대기 큐에 다시 들어간다.
+     * 등록은 항상 기존 Redis 에 먼저 반영되므로, 기존 Redis 의 대기 큐에 없는 사용자만 제거한다.
+     *
+     * @param source 기존 Redis
+     * @param target 대상 Redis
+     * @param waitKey 대기 큐
+     * @return 제거된 멤버 수
+     */
+    private Mono<Long> removeAdmitted(final ReactiveRedisTemplate<String, Long> source,
+                                      final ReactiveRedisTemplate<String, Long> target,
+                                      final String waitKey) {
+        return scan(target, waitKey)
+                .flatMap(tuple -> source.opsForZSet().score(waitKey, tuple.getValue())
+                        .hasElement()
+                        .filter(isWaiting -> !isWaiting)
+                        .flatMap(isWaiting -> target.opsForZSet().remove(waitKey, tuple.getValue())), batchSize)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * ZSCAN 으로 sorted set 읽기 (구독자가 요청한 만큼만 커서를 진행)
+     *
+     * @param template Redis 템플릿
+     * @param key sorted set
+     * @return 멤버와 score
+     */
+    private Flux<TypedTuple<Long>> scan(final ReactiveRedisTemplate<String, Long> template, final String key) {
+        return template.opsForZSet().scan(key, ScanOptions.scanOptions().count(batchSize).build());
+    }
+
+    /**
+     * @param queue 큐 이름
+     * @param batch 멤버 목록
+     * @return sorted set 별 멤버와 score
+     */
+    private Map<String, List<TypedTuple<Long>>> groupByKey(final String queue, final List<QueueMemberDto> batch) {
+        return batch.stream()
+                .collect(Collectors.groupingBy(
+                        member -> keyOf(queue, member),
+                        Collectors.mapping(member -> TypedTuple.of(member.userId(), member.score()), Collectors.toList())));
+    }
+
+    private String keyOf(final String queue, final QueueMemberDto member) {
+        if (member.userId() == null || member.score() == null) {
+            throw ErrorCode.QUEUE_INVALID_MEMBER.build();
+        }
+
+        return switch (member.set() == null ? "" : member.set()) {
+            case WAIT -> USER_QUEUE_WAIT_KEY.formatted(queue);
+            case ALLOW -> USER_QUEUE_ALLOW_KEY.formatted(queue);
+            default -> throw ErrorCode.QUEUE_INVALID_MEMBER.build();
+        };
+    }
+}
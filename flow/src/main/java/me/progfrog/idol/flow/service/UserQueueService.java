@@ -3,12 +3,15 @@ package me.progfrog.idol.flow.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.progfrog.idol.flow.dto.QueueStatusDto;
-import me.progfrog.idol.flow.exception.ErrorCode;
+import me.progfrog.idol.flow.dto.RegistrationDto;
+import me.progfrog.idol.flow.federation.QueueRoute;
+import me.progfrog.idol.flow.federation.RedisBackendRouter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.function.Tuples;
 
@@ -17,17 +20,19 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserQueueService {
 
-    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    private final RedisBackendRouter redisBackendRouter;
+    private final QueueStatsService queueStatsService;
 
-    private final String USER_QUEUE_WAIT_KEY = "users:queue:%s:wait";
-    private final String USER_QUEUE_WAIT_KEY_FOR_SCAN = "users:queue:*:wait";
-    private final String USER_QUEUE_ALLOW_KEY = "users:queue:%s:allow";
+    public static final String USER_QUEUE_WAIT_KEY = "users:queue:%s:wait";
+    static final String USER_QUEUE_WAIT_KEY_FOR_SCAN = "users:queue:*:wait";
+    public static final String USER_QUEUE_ALLOW_KEY = "users:queue:%s:allow";
 
     @Value("${scheduler.enabled}")
     private Boolean scheduling = false;
@@ -36,25 +41,38 @@ public class UserQueueService {
      * 사용자를 대기 큐에 등록
      * redis sorted set
      * key: userId, value: unix timestamp
+     * 이미 등록된 사용자라면 기존 대기 번호를 돌려준다.
+     * 이관 중인 큐라면 다른 Redis 에도 등록한다.
      *
      * @param queue 대기 큐 이름
      * @param userId 사용자 ID
-     * @return rank 대기 번호
+     * @return 신규 등록 여부와 대기 번호
      */
-    public Mono<Long> registerWaitQueue(final String queue, final Long userId) {
+    public Mono<RegistrationDto> registerWaitQueue(final String queue, final Long userId) {
         var unixTimestamp = Instant.now().getEpochSecond();
-        return reactiveRedisTemplate.opsForZSet().add(USER_QUEUE_WAIT_KEY.formatted(queue), userId.toString(), unixTimestamp)
-                .filter(isAdded -> isAdded)
-                .switchIfEmpty(Mono.error(ErrorCode.QUEUE_ALREADY_REGISTERED_USER.build()))
-                .flatMap(isAdded -> reactiveRedisTemplate.opsForZSet()
-                        .rank(USER_QUEUE_WAIT_KEY.formatted(queue), userId.toString()))
-                .map(rank -> rank >= 0 ? rank + 1 : rank);
+        return redisBackendRouter.withRoute(queue, route -> route.template().opsForZSet()
+                .add(USER_QUEUE_WAIT_KEY.formatted(queue), userId, unixTimestamp)
+                .defaultIfEmpty(false)
+                .flatMap(isAdded -> {
+                    if (!isAdded) {
+                        return getRank(route.template(), queue, userId)
+                                .map(rank -> new RegistrationDto(false, rank));
+                    }
+
+                    queueStatsService.recordArrival(queue, unixTimestamp);
+                    return mirror(route, mirror -> mirror.opsForZSet()
+                                    .add(USER_QUEUE_WAIT_KEY.formatted(queue), userId, unixTimestamp))
+                            .then(getRank(route.template(), queue, userId))
+                            .map(rank -> new RegistrationDto(true, rank));
+                }));
     }
 
     /**
      * 사용자를 입장 가능 상태로 전환
      * 1. 대기 큐에서 사용자 제거
      * 2. 입장 큐에 해당 사용자를 추가
+     * 3. 대기 큐의 score(등록 시각)로 입장까지 걸린 시간 기록
+     * 4. 이관 중인 큐라면 다른 Redis 에도 반영
      *
      * @param queue 대기 큐 이름
      * @param count 대기 큐에서 가져올 사용자 수
@@ -62,12 +80,20 @@ public class UserQueueService {
      */
     public Mono<Long> allowUser(final String queue, final Long count) {
         var unixTimestamp = Instant.now().getEpochSecond();
-        return reactiveRedisTemplate.opsForZSet().popMin(USER_QUEUE_WAIT_KEY.formatted(queue), count)
+        return redisBackendRouter.withRoute(queue, route -> route.template().opsForZSet()
+                .popMin(USER_QUEUE_WAIT_KEY.formatted(queue), count)
                 .flatMap(queueEntry -> Optional.ofNullable(queueEntry.getValue())
-                        .map(userId -> reactiveRedisTemplate.opsForZSet()
-                                .add(USER_QUEUE_ALLOW_KEY.formatted(queue), userId, unixTimestamp))
+                        .map(userId -> route.template().opsForZSet()
+                                .add(USER_QUEUE_ALLOW_KEY.formatted(queue), userId, unixTimestamp)
+                                .doOnNext(isAdded -> Optional.ofNullable(queueEntry.getScore())
+                                        .ifPresent(registeredTimestamp -> queueStatsService.recordAdmission(
+                                                queue, registeredTimestamp.longValue(), unixTimestamp)))
+                                .flatMap(isAdded -> mirror(route, mirror -> mirror.opsForZSet()
+                                                .remove(USER_QUEUE_WAIT_KEY.formatted(queue), userId)
+                                                .then(mirror.opsForZSet().add(USER_QUEUE_ALLOW_KEY.formatted(queue), userId, unixTimestamp)))
+                                        .thenReturn(isAdded)))
                         .orElse(Mono.empty()))
-                .count();
+                .count());
     }
 
     /**
@@ -78,7 +104,8 @@ public class UserQueueService {
      * @return 입장 가능 여부
      */
     public Mono<Boolean> isAllowed(final String queue, final Long userId) {
-        return reactiveRedisTemplate.opsForZSet().rank(USER_QUEUE_ALLOW_KEY.formatted(queue), userId.toString())
+        return redisBackendRouter.route(queue)
+                .flatMap(route -> route.template().opsForZSet().rank(USER_QUEUE_ALLOW_KEY.formatted(queue), userId))
                 .defaultIfEmpty(-1L)
                 .map(rank -> rank >= 0);
     }
@@ -107,27 +134,48 @@ public class UserQueueService {
      * @return 대기 번호
      */
     public Mono<Long> getRank(final String queue, final Long userId) {
-        return reactiveRedisTemplate.opsForZSet().rank(USER_QUEUE_WAIT_KEY.formatted(queue), userId.toString())
+        return redisBackendRouter.route(queue)
+                .flatMap(route -> getRank(route.template(), queue, userId));
+    }
+
+    private Mono<Long> getRank(final ReactiveRedisTemplate<String, Long> template, final String queue, final Long userId) {
+        return template.opsForZSet().rank(USER_QUEUE_WAIT_KEY.formatted(queue), userId)
                 .defaultIfEmpty(-1L)
                 .map(rank -> rank >= 0 ? rank + 1 : rank);
     }
 
     /**
-     * 전체 인원 가져오기
+     * 대기 큐 인원 가져오기
      *
      * @param queue 큐 이름
-     * @return 전체 인원 (대기 큐 + 입장 큐)
+     * @return 대기 큐 인원
      */
-    public Mono<Long> getTotalQueueSize(final String queue) {
-        Mono<Long> waitQueueSizeMono = reactiveRedisTemplate.opsForZSet()
-                .size(USER_QUEUE_WAIT_KEY.formatted(queue))
+    public Mono<Long> getWaitQueueSize(final String queue) {
+        return redisBackendRouter.route(queue)
+                .flatMap(route -> route.template().opsForZSet().size(USER_QUEUE_WAIT_KEY.formatted(queue)))
                 .defaultIfEmpty(0L);
+    }
 
-        Mono<Long> allowQueueSizeMono = reactiveRedisTemplate.opsForZSet()
-                .size(USER_QUEUE_ALLOW_KEY.formatted(queue))
+    /**
+     * 입장 큐 인원 가져오기
+     *
+     * @param queue 큐 이름
+     * @return 입장 큐 인원
+     */
+    public Mono<Long> getAllowQueueSize(final String queue) {
+        return redisBackendRouter.route(queue)
+                .flatMap(route -> route.template().opsForZSet().size(USER_QUEUE_ALLOW_KEY.formatted(queue)))
                 .defaultIfEmpty(0L);
+    }
 
-        return Mono.zip(waitQueueSizeMono, allowQueueSizeMono)
+    /**
+     * 전체 인원 가져오기
+     *
+     * @param queue 큐 이름
+     * @return 전체 인원 (대기 큐 + 입장 큐)
+     */
+    public Mono<Long> getTotalQueueSize(final String queue) {
+        return Mono.zip(getWaitQueueSize(queue), getAllowQueueSize(queue))
                 .map(tuple -> tuple.getT1() + tuple.getT2());
     }
 
@@ -136,30 +184,15 @@ public class UserQueueService {
      *
      * @param queue 큐 이름
      * @param userId 사용자 ID
-     * @return 사용자의 대기 번호, 전체 인원, 진행률
+     * @return 사용자의 대기 번호, 전체 인원, 진행률, 예상 대기 시간
      */
     public Mono<QueueStatusDto> registerWaitingQueueOrGetQueueStatus(final String queue, final Long userId) {
-        var unixTimestamp = Instant.now().getEpochSecond();
-        Mono<Long> userRankMono = reactiveRedisTemplate.opsForZSet().add(USER_QUEUE_WAIT_KEY.formatted(queue), userId.toString(), unixTimestamp)
-                .filter(isAdded -> isAdded)
-                .switchIfEmpty(Mono.error(ErrorCode.QUEUE_ALREADY_REGISTERED_USER.build()))
-                .flatMap(isAdded -> reactiveRedisTemplate.opsForZSet()
-                        .rank(USER_QUEUE_WAIT_KEY.formatted(queue), userId.toString()))
-                .map(rank -> rank >= 0 ? rank + 1 : rank);
-
-        userRankMono = userRankMono.onErrorResume(throwable -> getRank(queue, userId));
-
-        Mono<Long> totalQueueSizeMono = getTotalQueueSize(queue);
-
-        return Mono.zip(userRankMono, totalQueueSizeMono)
-                .flatMap(tuple -> {
-                    Long userRank = tuple.getT1();
-                    Long totalQueueSize = tuple.getT2();
-                    double progress = calculateProgress(userRank);
+        Mono<Long> userRankMono = registerWaitQueue(queue, userId)
+                .map(RegistrationDto::rank);
 
-                    log.info("registerWaitingQueueOrGetQueueStatus() - rank: {}, totalQueueSize: {}, progress: {}", userRank, totalQueueSize, progress);
-                    return Mono.just(new QueueStatusDto(userRank, totalQueueSize, progress));
-                });
+        return toQueueStatus(queue, userRankMono)
+                .doOnNext(dto -> log.info("registerWaitingQueueOrGetQueueStatus() - rank: {}, totalQueueSize: {}, progress: {}",
+                        dto.userRank(), dto.totalQueueSize(), dto.progress()));
     }
 
     /**
@@ -168,23 +201,54 @@ public class UserQueueService {
      *
      * @param queue 큐 이름
      * @param userId 사용자 ID
-     * @return 사용자의 대기 번호, 전체 인원, 진행률
+     * @return 사용자의 대기 번호, 전체 인원, 진행률, 예상 대기 시간
      */
     public Mono<QueueStatusDto> getQueueStatus(final String queue, final Long userId) {
-        Mono<Long> userRankMono = getRank(queue, userId);
-        Mono<Long> totalQueueSizeMono = getTotalQueueSize(queue);
+        return toQueueStatus(queue, getRank(queue, userId))
+                .doOnNext(dto -> log.info("getQueueStatus() - rank: {}, totalQueueSize: {}, progress: {}",
+                        dto.userRank(), dto.totalQueueSize(), dto.progress()));
+    }
 
-        return Mono.zip(userRankMono, totalQueueSizeMono)
-                .flatMap(tuple -> {
+    /**
+     * 대기 번호와 큐 인원으로 상태 계산
+     * 입장 큐 인원은 모든 노드가 함께 쓰는 Redis 의 값이므로, 예상 대기 시간 계산에 쓰도록 통계에 기록
+     *
+     * @param queue 큐 이름
+     * @param userRankMono 사용자의 대기 번호
+     * @return 사용자의 대기 번호, 전체 인원, 진행률, 예상 대기 시간
+     */
+    private Mono<QueueStatusDto> toQueueStatus(final String queue, final Mono<Long> userRankMono) {
+        return Mono.zip(userRankMono, getWaitQueueSize(queue), getAllowQueueSize(queue))
+                .map(tuple -> {
                     Long userRank = tuple.getT1();
-                    Long totalQueueSize = tuple.getT2();
-                    double progress = calculateProgress(userRank);
+                    long waitQueueSize = tuple.getT2();
+                    long allowQueueSize = tuple.getT3();
+                    var now = Instant.now().getEpochSecond();
 
-                    log.info("getQueueStatus() - rank: {}, totalQueueSize: {}, progress: {}", userRank, totalQueueSize, progress);
-                    return Mono.just(new QueueStatusDto(userRank, totalQueueSize, progress));
+                    if (waitQueueSize + allowQueueSize > 0) {
+                        queueStatsService.recordAllowQueueSize(queue, allowQueueSize, now);
+                    }
+
+                    double progress = calculateProgress(userRank);
+                    long etaSeconds = queueStatsService.estimateEtaSeconds(queue, userRank, now);
+                    return new QueueStatusDto(userRank, waitQueueSize + allowQueueSize, progress, etaSeconds);
                 });
     }
 
+    /**
+     * 이관 중인 큐라면 다른 Redis 에도 같은 변경을 반영 (dual write)
+     * 복사 중에는 대상 Redis 에, 전환 중에는 기존 Redis 에 반영
+     *
+     * @param route 처리 중인 큐의 라우팅
+     * @param command 다른 Redis 에 실행할 명령
+     * @return 반영 완료 (이관 중이 아니라면 바로 완료)
+     */
+    private Mono<Void> mirror(final QueueRoute route, final Function<ReactiveRedisTemplate<String, Long>, Mono<?>> command) {
+        return Mono.justOrEmpty(route.mirror())
+                .flatMap(command)
+                .then();
+    }
+
     /**
      * 진행률 계산하기
      *
@@ -259,12 +323,16 @@ public class UserQueueService {
 
         // 대기 큐가 여러 개 있는 상황을 고려해서, 사용자를 대기에서 입장 가능 상태로 전환하도록 코드 작성
         var maxAllowUserCount = 3L;
-        reactiveRedisTemplate.scan(
-                ScanOptions
-                        .scanOptions()
-                        .match(USER_QUEUE_WAIT_KEY_FOR_SCAN)
-                        .build())
+        // Redis 가 여러 대인 경우, 각 Redis 의 대기 큐를 모두 처리
+        Flux.fromIterable(redisBackendRouter.getTemplates())
+                .flatMap(redisTemplate -> redisTemplate.scan(
+                        ScanOptions
+                                .scanOptions()
+                                .match(USER_QUEUE_WAIT_KEY_FOR_SCAN)
+                                .build()))
                 .map(key -> key.split(":")[2])
+                // 이관 중이거나 이관이 끝난 큐는 여러 Redis 에서 발견될 수 있음
+                .distinct()
                 .flatMap(queue -> allowUser(queue, maxAllowUserCount)
                         .map(isAllowed -> Tuples.of(queue, isAllowed)))
                 .doOnNext(tuple -> log.info("Tried %d and allowed %d members of %s queue".formatted(maxAllowUserCount,
@@ -0,0 +1,60 @@
+package me.progfrog.idol.flow.stats;
+
+/**
+ * 큐 크기 변화로 초당 증가량을 계산
+ * 입장 큐는 모든 노드가 함께 쓰는 Redis 에 있으므로, 그 크기 변화로 전체 노드의 입장률을 알 수 있다.
+ * 초마다 마지막 샘플 하나만 링 버퍼에 남기므로 메모리 사용량이 고정되어 있다.
+ */
+public class QueueSizeRateEstimator {
+
+    private final int windowSeconds;
+    private final long[] epochSeconds;
+    private final long[] sizes;
+
+    public QueueSizeRateEstimator(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+        this.epochSeconds = new long[windowSeconds];
+        this.sizes = new long[windowSeconds];
+    }
+
+    /**
+     * @param nowEpochSecond 현재 시각 (unix timestamp)
+     * @param size 큐 크기
+     */
+    public synchronized void record(final long nowEpochSecond, final long size) {
+        int index = (int) Math.floorMod(nowEpochSecond, (long) windowSeconds);
+        epochSeconds[index] = nowEpochSecond;
+        sizes[index] = size;
+    }
+
+    /**
+     * @param nowEpochSecond 현재 시각 (unix timestamp)
+     * @return 윈도우 내 초당 증가량, 샘플이 부족하거나 크기가 줄었다면(이관 등) -1
+     */
+    public synchronized double ratePerSecond(final long nowEpochSecond) {
+        int oldest = -1;
+        int newest = -1;
+        for (int i = 0; i < windowSeconds; i++) {
+            long age = nowEpochSecond - epochSeconds[i];
+            if (age < 0 || age >= windowSeconds) {
+                continue;
+            }
+            if (oldest < 0 || epochSeconds[i] < epochSeconds[oldest]) {
+                oldest = i;
+            }
+            if (newest < 0 || epochSeconds[i] > epochSeconds[newest]) {
+                newest = i;
+            }
+        }
+
+        if (oldest < 0 || epochSeconds[newest] == epochSeconds[oldest]) {
+            return -1;
+        }
+
+        long delta = sizes[newest] - sizes[oldest];
+        if (delta < 0) {
+            return -1;
+        }
+        return (double) delta / (epochSeconds[newest] - epochSeconds[oldest]);
+    }
+}
@@ -0,0 +1,33 @@
+package me.progfrog.idol.flow.stats;
+
+import lombok.Getter;
+
+/**
+ * 큐 하나의 통계
+ * 1. 도착(대기 큐 등록) 수
+ * 2. 입장(입장 큐 전환) 수와 등록부터 입장까지 걸린 시간
+ * 3. 토큰 발급(touch) 수 → 입장 후 진입하지 않은 비율(이탈률) 계산에 사용
+ * 4. 입장 큐 크기 변화 → 전체 노드 기준 입장률, 예상 대기 시간 계산에 사용
+ */
+@Getter
+public class QueueStats {
+
+    private final SlidingWindowCounter arrivals;
+    private final SlidingWindowCounter admissions;
+    private final SlidingWindowCounter touches;
+    private final QueueSizeRateEstimator allowQueueSize;
+    private final WaitTimeHistogram waitTimeHistogram = new WaitTimeHistogram();
+    private volatile long lastUpdatedEpochSecond;
+
+    public QueueStats(int windowSeconds, long nowEpochSecond) {
+        this.arrivals = new SlidingWindowCounter(windowSeconds);
+        this.admissions = new SlidingWindowCounter(windowSeconds);
+        this.touches = new SlidingWindowCounter(windowSeconds);
+        this.allowQueueSize = new QueueSizeRateEstimator(windowSeconds);
+        this.lastUpdatedEpochSecond = nowEpochSecond;
+    }
+
+    public void markUpdated(final long nowEpochSecond) {
+        lastUpdatedEpochSecond = nowEpochSecond;
+    }
+}
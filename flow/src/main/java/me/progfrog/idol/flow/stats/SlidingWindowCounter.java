@@ -0,0 +1,54 @@
+package me.progfrog.idol.flow.stats;
+
+/**
+ * 초 단위 슬라이딩 윈도우 카운터
+ * 윈도우 크기만큼의 링 버퍼를 재사용하므로 메모리 사용량이 고정되어 있다.
+ */
+public class SlidingWindowCounter {
+
+    private final int windowSeconds;
+    private final long[] counts;
+    private final long[] epochSeconds;
+
+    public SlidingWindowCounter(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+        this.counts = new long[windowSeconds];
+        this.epochSeconds = new long[windowSeconds];
+    }
+
+    /**
+     * @param nowEpochSecond 현재 시각 (unix timestamp)
+     * @param amount 더할 값
+     */
+    public synchronized void add(final long nowEpochSecond, final long amount) {
+        int index = (int) Math.floorMod(nowEpochSecond, (long) windowSeconds);
+        if (epochSeconds[index] != nowEpochSecond) {
+            epochSeconds[index] = nowEpochSecond;
+            counts[index] = 0;
+        }
+        counts[index] += amount;
+    }
+
+    /**
+     * @param nowEpochSecond 현재 시각 (unix timestamp)
+     * @return 윈도우 내 합계
+     */
+    public synchronized long sum(final long nowEpochSecond) {
+        long sum = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            long age = nowEpochSecond - epochSeconds[i];
+            if (age >= 0 && age < windowSeconds) {
+                sum += counts[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @param nowEpochSecond 현재 시각 (unix timestamp)
+     * @return 윈도우 내 초당 평균
+     */
+    public double ratePerSecond(final long nowEpochSecond) {
+        return (double) sum(nowEpochSecond) / windowSeconds;
+    }
+}
@@ -0,0 +1,74 @@
+package me.progfrog.idol.flow.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 메모리 히스토그램 (HdrHistogram 방식의 log-linear 버킷)
+ * 2의 거듭제곱 구간마다 16개의 선형 구간을 두고 구간의 하한값을 돌려주므로, 값의 크기와 상관없이 최대 6.25%(1/16) 오차로 백분위를 계산한다.
+ */
+public class WaitTimeHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final int BUCKET_SIZE = (Long.SIZE - SUB_BUCKET_BITS + 2) << SUB_BUCKET_HALF_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_SIZE);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * 값 기록
+     *
+     * @param value 기록할 값 (음수는 0 으로 기록)
+     */
+    public void record(final long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        totalCount.incrementAndGet();
+        maxValue.accumulateAndGet(v, Math::max);
+    }
+
+    /**
+     * 백분위 값 조회
+     *
+     * @param percentile 백분위 (0 ~ 100)
+     * @return 해당 백분위 값 (기록된 값이 없으면 0)
+     */
+    public long getValueAtPercentile(final double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(valueOf(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    static int indexOf(final long value) {
+        int bucket = Math.max(0, (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS + 1);
+        int subBucket = (int) (value >>> bucket);
+        return (bucket << SUB_BUCKET_HALF_BITS) + subBucket;
+    }
+
+    static long valueOf(final int index) {
+        int bucket = Math.max(0, (index >> SUB_BUCKET_HALF_BITS) - 1);
+        long subBucket = index - ((long) bucket << SUB_BUCKET_HALF_BITS);
+        return subBucket << bucket;
+    }
+}
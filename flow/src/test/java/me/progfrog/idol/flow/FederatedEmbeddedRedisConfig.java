@@ -0,0 +1,38 @@
+package me.progfrog.idol.flow;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.test.context.TestConfiguration;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+
+/**
+ * Redis 두 대 (redis.backends=127.0.0.1:63792,127.0.0.1:63793, 라우팅 정보는 63792 에 저장)
+ */
+@TestConfiguration
+public class FederatedEmbeddedRedisConfig {
+
+    public static final String FIRST_BACKEND = "127.0.0.1:63792";
+    public static final String SECOND_BACKEND = "127.0.0.1:63793";
+
+    private final RedisServer firstRedisServer;
+    private final RedisServer secondRedisServer;
+
+    public FederatedEmbeddedRedisConfig() throws IOException {
+        this.firstRedisServer = new RedisServer(63792);
+        this.secondRedisServer = new RedisServer(63793);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        this.firstRedisServer.start();
+        this.secondRedisServer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        this.firstRedisServer.stop();
+        this.secondRedisServer.stop();
+    }
+}
@@ -0,0 +1,69 @@
+package me.progfrog.idol.flow.controller;
+
+import me.progfrog.idol.flow.EmbeddedRedisConfig;
+import me.progfrog.idol.flow.service.UserQueueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(EmbeddedRedisConfig.class)
+class QueueAdminControllerTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private UserQueueService userQueueService;
+
+    @Autowired
+    private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void beforeEach() {
+        webTestClient = WebTestClient.bindToApplicationContext(applicationContext).build();
+        userQueueService.registerWaitQueue("default", 100L).block(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void afterEach() {
+        ReactiveRedisConnection redisConnection = reactiveRedisTemplate.getConnectionFactory().getReactiveConnection();
+        redisConnection.serverCommands().flushAll().subscribe();
+    }
+
+    @Test
+    @DisplayName("exportQueue: Accept 헤더가 없으면 NDJSON 으로 내보내기")
+    void exportWithoutAccept() {
+        webTestClient.get().uri("/api/v1/admin/queue/export?queue=default")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    @DisplayName("exportQueue: format=binary 이면 바이너리로 내보내기")
+    void exportBinary() {
+        webTestClient.get().uri("/api/v1/admin/queue/export?queue=default&format=binary")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_OCTET_STREAM)
+                // 멤버당 17바이트
+                .expectBody(byte[].class).value(body -> assertEquals(17, body.length));
+    }
+}
@@ -0,0 +1,66 @@
+package me.progfrog.idol.flow.controller;
+
+import me.progfrog.idol.flow.EmbeddedRedisConfig;
+import me.progfrog.idol.flow.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(EmbeddedRedisConfig.class)
+class UserQueueControllerTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void beforeEach() {
+        webTestClient = WebTestClient.bindToApplicationContext(applicationContext).build();
+    }
+
+    @AfterEach
+    void afterEach() {
+        ReactiveRedisConnection redisConnection = reactiveRedisTemplate.getConnectionFactory().getReactiveConnection();
+        redisConnection.serverCommands().flushAll().subscribe();
+    }
+
+    @Test
+    @DisplayName("registerUser: 이미 등록된 사용자는 409 와 에러 코드로 응답")
+    void registerUserTwice() {
+        webTestClient.post().uri("/api/v1/queue?queue=default&user-id=100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.rank").isEqualTo(1);
+
+        webTestClient.post().uri("/api/v1/queue?queue=default&user-id=100")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("UQ-0001")
+                .jsonPath("$.reason").isEqualTo("이미 대기열에 등록된 사용자 입니다.");
+    }
+
+    @Test
+    @DisplayName("ApplicationException: stack trace 를 만들지 않음")
+    void applicationExceptionIsStackless() {
+        var exception = ErrorCode.QUEUE_ALREADY_REGISTERED_USER.build();
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+}
@@ -0,0 +1,65 @@
+package me.progfrog.idol.flow.federation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int QUEUE_COUNT = 10_000;
+
+    @Test
+    @DisplayName("get: 같은 큐 이름은 항상 같은 노드에 배정")
+    void sameQueueSameNode() {
+        var ring = new ConsistentHashRing<>(nodes(3), 160);
+
+        assertEquals(ring.get("default"), ring.get("default"));
+    }
+
+    @Test
+    @DisplayName("get: 큐가 노드에 고르게 배정")
+    void distribution() {
+        var ring = new ConsistentHashRing<>(nodes(4), 160);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < QUEUE_COUNT; i++) {
+            counts.merge(ring.get("queue-" + i), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertEquals(QUEUE_COUNT / 4.0, count, QUEUE_COUNT / 4.0 * 0.25));
+    }
+
+    @Test
+    @DisplayName("get: 노드 추가 시 일부 큐만 새 노드로 이동")
+    void addNodeMovesFewQueues() {
+        var before = new ConsistentHashRing<>(nodes(4), 160);
+        var after = new ConsistentHashRing<>(nodes(5), 160);
+
+        int moved = 0;
+        for (int i = 0; i < QUEUE_COUNT; i++) {
+            var queue = "queue-" + i;
+            var node = after.get(queue);
+            if (!node.equals(before.get(queue))) {
+                assertEquals("redis-4", node);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > 0);
+        assertTrue(moved < QUEUE_COUNT * 0.3);
+    }
+
+    private Map<String, String> nodes(int count) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            nodes.put("redis-" + i, "redis-" + i);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,124 @@
+package me.progfrog.idol.flow.federation;
+
+import io.lettuce.core.resource.ClientResources;
+import me.progfrog.idol.flow.FederatedEmbeddedRedisConfig;
+import me.progfrog.idol.flow.exception.ApplicationException;
+import me.progfrog.idol.flow.service.UserQueueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static me.progfrog.idol.flow.FederatedEmbeddedRedisConfig.FIRST_BACKEND;
+import static me.progfrog.idol.flow.FederatedEmbeddedRedisConfig.SECOND_BACKEND;
+import static me.progfrog.idol.flow.service.UserQueueService.USER_QUEUE_WAIT_KEY;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.data.redis.port=63792",
+        "redis.backends=" + FIRST_BACKEND + "," + SECOND_BACKEND,
+        "redis.routing.ack-timeout-seconds=2"
+})
+@Import(FederatedEmbeddedRedisConfig.class)
+class QueueRoutingTest {
+
+    private static final String QUEUE = "routing";
+
+    @Autowired
+    private UserQueueService userQueueService;
+
+    @Autowired
+    private RedisBackendRouter redisBackendRouter;
+
+    @Autowired
+    private RedisSerializationContext<String, Long> serializationContext;
+
+    @Autowired
+    private ClientResources clientResources;
+
+    @AfterEach
+    void afterEach() {
+        Flux.fromIterable(redisBackendRouter.getTemplates())
+                .flatMap(template -> template.getConnectionFactory().getReactiveConnection().serverCommands().flushAll())
+                .then(redisBackendRouter.refresh())
+                .block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("route: hashing 결과와 다른 Redis 에 이미 데이터가 있는 큐는 그 Redis 를 계속 사용 (Redis 추가 후)")
+    void keepBackendHoldingData() {
+        var hashedBackend = redisBackendRouter.route(QUEUE).block(Duration.ofSeconds(5)).backend();
+        var holdingBackend = FIRST_BACKEND.equals(hashedBackend) ? SECOND_BACKEND : FIRST_BACKEND;
+
+        // Redis 가 추가되기 전에 등록된 사용자
+        StepVerifier.create(redisBackendRouter.getTemplateByBackend(holdingBackend).orElseThrow().opsForZSet()
+                        .add(USER_QUEUE_WAIT_KEY.formatted(QUEUE), 100L, 1.0))
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.getRank(QUEUE, 100L))
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.allowUser(QUEUE, 1L)
+                        .then(userQueueService.isAllowed(QUEUE, 100L)))
+                .expectNext(true)
+                .verifyComplete();
+
+        // 대기 큐가 비어도 배정된 Redis 는 그대로
+        StepVerifier.create(redisBackendRouter.route(QUEUE).map(QueueRoute::backend))
+                .expectNext(holdingBackend)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("withRoute: 처음 사용하는 큐는 hashing 결과를 저장하고, 데이터가 없는 큐를 조회해도 저장하지 않음")
+    void assignOnFirstWrite() {
+        var hashedBackend = redisBackendRouter.route(QUEUE).block(Duration.ofSeconds(5)).backend();
+
+        StepVerifier.create(userQueueService.registerWaitQueue(QUEUE, 100L)
+                        .then(redisBackendRouter.route(QUEUE))
+                        .map(QueueRoute::backend))
+                .expectNext(hashedBackend)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.getRank("unknown", 100L))
+                .expectNext(-1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("withRoute: 라우팅 정보를 읽지 못한 서버는 쓰기 거부, 조회는 가능")
+    void refuseWritesWithoutRouting() {
+        // 라우팅 정보를 저장하는 Redis 에 접속할 수 없는 서버
+        var unreachable = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", 63799));
+        unreachable.afterPropertiesSet();
+        var router = new RedisBackendRouter(unreachable, serializationContext, clientResources, new RedisProperties(),
+                FIRST_BACKEND + "," + SECOND_BACKEND, 160, "", 10, 2);
+        try {
+            router.afterPropertiesSet();
+
+            StepVerifier.create(router.withRoute(QUEUE, Mono::just))
+                    .expectErrorSatisfies(throwable -> assertEquals("UQ-0007", ((ApplicationException) throwable).getCode()))
+                    .verify();
+
+            StepVerifier.create(router.route(QUEUE).map(QueueRoute::backend))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        } finally {
+            router.destroy();
+            unreachable.destroy();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package me.progfrog.idol.flow.overload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("tryAcquire: 한도를 넘는 요청은 거절")
+    void tryAcquire() {
+        var limiter = new AdaptiveConcurrencyLimiter(new RedisLatencyTracker(), 2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("updateLimit: Redis 지연이 늘어나면 한도 감소")
+    void shrinkWhenLatencyIncreases() {
+        var tracker = new RedisLatencyTracker();
+        tracker.record(1_000_000L);
+        for (int i = 0; i < 50; i++) {
+            tracker.record(20_000_000L);
+        }
+
+        var limiter = new AdaptiveConcurrencyLimiter(tracker, 100, 10, 1000);
+        var now = System.nanoTime();
+        for (int i = 1; i <= 20; i++) {
+            limiter.updateLimit(100, now + i * 1_000_000_000L);
+        }
+
+        assertTrue(limiter.getLimit() < 100);
+        assertTrue(limiter.getLimit() >= 10);
+    }
+
+    @Test
+    @DisplayName("updateLimit: Redis 지연이 안정적이면 한도 증가")
+    void growWhenLatencyIsStable() {
+        var tracker = new RedisLatencyTracker();
+        for (int i = 0; i < 50; i++) {
+            tracker.record(1_000_000L);
+        }
+
+        var limiter = new AdaptiveConcurrencyLimiter(tracker, 100, 10, 1000);
+        var now = System.nanoTime();
+        for (int i = 1; i <= 20; i++) {
+            limiter.updateLimit(100, now + i * 1_000_000_000L);
+        }
+
+        assertTrue(limiter.getLimit() > 100);
+    }
+}
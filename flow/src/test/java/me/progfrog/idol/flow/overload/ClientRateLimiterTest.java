@@ -0,0 +1,66 @@
+package me.progfrog.idol.flow.overload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("tryConsume: burst 만큼 사용하면 거절")
+    void consumeBurst() {
+        var limiter = new ClientRateLimiter(1, 2, 100);
+
+        assertTrue(limiter.tryConsume("10.0.0.1", 0));
+        assertTrue(limiter.tryConsume("10.0.0.1", 0));
+        assertFalse(limiter.tryConsume("10.0.0.1", 0));
+        assertTrue(limiter.tryConsume("10.0.0.2", 0));
+    }
+
+    @Test
+    @DisplayName("tryConsume: 시간이 지나면 초당 permitsPerSecond 만큼 다시 채워짐")
+    void refill() {
+        var limiter = new ClientRateLimiter(2, 2, 100);
+
+        assertTrue(limiter.tryConsume("10.0.0.1", 0));
+        assertTrue(limiter.tryConsume("10.0.0.1", 0));
+        assertFalse(limiter.tryConsume("10.0.0.1", 0));
+
+        // 0.5초 후 토큰 1개
+        assertTrue(limiter.tryConsume("10.0.0.1", SECOND / 2));
+        assertFalse(limiter.tryConsume("10.0.0.1", SECOND / 2));
+
+        // 오래 지나도 burst 이상 쌓이지 않음
+        assertTrue(limiter.tryConsume("10.0.0.1", 10 * SECOND));
+        assertTrue(limiter.tryConsume("10.0.0.1", 10 * SECOND));
+        assertFalse(limiter.tryConsume("10.0.0.1", 10 * SECOND));
+    }
+
+    @Test
+    @DisplayName("evictIdle: 오래 사용되지 않은 버킷 제거")
+    void evictIdle() {
+        var limiter = new ClientRateLimiter(1, 1, 100);
+        limiter.tryConsume("10.0.0.1", 0);
+        limiter.tryConsume("10.0.0.2", 5 * SECOND);
+
+        limiter.evictIdle(3 * SECOND, 6 * SECOND);
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    @DisplayName("tryConsume: maxClients 를 넘는 클라이언트는 버킷 하나를 함께 사용")
+    void maxClients() {
+        var limiter = new ClientRateLimiter(1, 1, 2);
+
+        assertTrue(limiter.tryConsume("10.0.0.1", 0));
+        assertTrue(limiter.tryConsume("10.0.0.2", 0));
+        assertTrue(limiter.tryConsume("10.0.0.3", 0));
+        assertFalse(limiter.tryConsume("10.0.0.4", 0));
+
+        assertEquals(2, limiter.size());
+    }
+}
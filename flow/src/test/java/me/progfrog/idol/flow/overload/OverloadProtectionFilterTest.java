@@ -0,0 +1,123 @@
+package me.progfrog.idol.flow.overload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverloadProtectionFilterTest {
+
+    private static final WebFilterChain COMPLETED_CHAIN = exchange -> Mono.empty();
+    private static final WebFilterChain PENDING_CHAIN = exchange -> Mono.never();
+
+    @Test
+    @DisplayName("filter: 동시 처리 한도를 넘으면 503 과 Retry-After 응답")
+    void rejectWhenOverloaded() {
+        var filter = createFilter(1, false);
+
+        Disposable pending = filter.filter(exchange("/api/v1/queue", "10.0.0.1"), PENDING_CHAIN).subscribe();
+
+        var rejected = exchange("/api/v1/queue", "10.0.0.2");
+        StepVerifier.create(filter.filter(rejected, COMPLETED_CHAIN))
+                .verifyComplete();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("3", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1L, filter.getOverloadedCount());
+
+        pending.dispose();
+    }
+
+    @Test
+    @DisplayName("filter: 처리가 끝나면 슬롯을 반납해 다음 요청 허용")
+    void releaseAfterCompletion() {
+        var filter = createFilter(1, false);
+
+        StepVerifier.create(filter.filter(exchange("/api/v1/queue/progress", "10.0.0.1"), COMPLETED_CHAIN))
+                .verifyComplete();
+
+        var next = exchange("/api/v1/queue/progress", "10.0.0.1");
+        StepVerifier.create(filter.filter(next, COMPLETED_CHAIN))
+                .verifyComplete();
+
+        assertNull(next.getResponse().getStatusCode());
+        assertEquals(0L, filter.getOverloadedCount());
+    }
+
+    @Test
+    @DisplayName("filter: 보호 대상이 아닌 경로는 한도와 상관없이 통과")
+    void passUnprotectedPath() {
+        var filter = createFilter(1, false);
+
+        Disposable pending = filter.filter(exchange("/api/v1/queue", "10.0.0.1"), PENDING_CHAIN).subscribe();
+
+        var allowed = exchange("/api/v1/queue/allowed", "10.0.0.1");
+        StepVerifier.create(filter.filter(allowed, COMPLETED_CHAIN))
+                .verifyComplete();
+
+        assertNull(allowed.getResponse().getStatusCode());
+
+        pending.dispose();
+    }
+
+    @Test
+    @DisplayName("filter: 같은 IP 에서 토큰을 다 쓰면 429 응답, 다른 IP 는 통과")
+    void rejectWhenClientRateLimited() {
+        var filter = createFilter(100, true);
+
+        StepVerifier.create(filter.filter(exchange("/waiting-room", "10.0.0.1"), COMPLETED_CHAIN))
+                .verifyComplete();
+
+        var rejected = exchange("/waiting-room", "10.0.0.1");
+        StepVerifier.create(filter.filter(rejected, COMPLETED_CHAIN))
+                .verifyComplete();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("3", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1L, filter.getRateLimitedCount());
+
+        var otherClient = exchange("/waiting-room", "10.0.0.2");
+        StepVerifier.create(filter.filter(otherClient, COMPLETED_CHAIN))
+                .verifyComplete();
+
+        assertNull(otherClient.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("getClientKey: overload.client.key-header 가 있으면 헤더의 마지막 값을 클라이언트 IP 로 사용")
+    void clientKeyFromHeader() {
+        var filter = createFilter(10, true, "X-Forwarded-For");
+
+        var forwarded = MockServerWebExchange.from(MockServerHttpRequest.get("/waiting-room")
+                .remoteAddress(new InetSocketAddress("10.0.0.100", 50000))
+                .header("X-Forwarded-For", "1.1.1.1, 203.0.113.7"));
+        assertEquals("203.0.113.7", filter.getClientKey(forwarded));
+
+        // 헤더가 없으면 접속한 IP
+        assertEquals("10.0.0.100", filter.getClientKey(exchange("/waiting-room", "10.0.0.100")));
+    }
+
+    private OverloadProtectionFilter createFilter(int limit, boolean clientLimitEnabled) {
+        return createFilter(limit, clientLimitEnabled, "");
+    }
+
+    private OverloadProtectionFilter createFilter(int limit, boolean clientLimitEnabled, String clientKeyHeader) {
+        return new OverloadProtectionFilter(new RedisLatencyTracker(), true, limit, limit, limit, 3,
+                clientLimitEnabled, 1, 1, 100, clientKeyHeader);
+    }
+
+    private MockServerWebExchange exchange(String path, String clientIp) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .remoteAddress(new InetSocketAddress(clientIp, 50000)));
+    }
+}
@@ -0,0 +1,99 @@
+package me.progfrog.idol.flow.serializer;
+
+import me.progfrog.idol.flow.EmbeddedRedisConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(EmbeddedRedisConfig.class)
+class QueueMemberEncodingTest {
+
+    private static final int MEMBER_COUNT = 1_000;
+    private static final long USER_ID_BASE = 1_000_000_000_000L;
+
+    @Autowired
+    private ReactiveRedisConnectionFactory reactiveRedisConnectionFactory;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @AfterEach
+    void afterEach() {
+        try (var connection = redisConnectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+    }
+
+    @Test
+    @DisplayName("roundTrip: 직렬화 후 역직렬화하면 같은 값")
+    void roundTrip() {
+        var fixed = new FixedLongRedisSerializer();
+        var varint = new VarLongRedisSerializer();
+
+        for (long value : new long[]{0L, 1L, 127L, 128L, 100L, USER_ID_BASE, Long.MAX_VALUE, -1L, Long.MIN_VALUE}) {
+            assertEquals(value, fixed.deserialize(fixed.serialize(value)));
+            assertEquals(value, varint.deserialize(varint.serialize(value)));
+        }
+
+        assertEquals(8, fixed.serialize(1L).length);
+        assertEquals(1, varint.serialize(127L).length);
+        assertEquals(2, varint.serialize(128L).length);
+
+        // 잘못된 varint
+        byte[] overflow = varint.serialize(-1L);
+        overflow[9] = 0x02;
+        for (byte[] bytes : new byte[][]{new byte[0], new byte[11], {(byte) 0x80}, {0x01, 0x01}, overflow}) {
+            assertThrows(SerializationException.class, () -> varint.deserialize(bytes));
+        }
+    }
+
+    @Test
+    @DisplayName("memoryUsage: 바이너리 저장 방식이 문자열보다 적은 메모리 사용")
+    void memoryUsage() {
+        long stringUsage = fillAndMeasure("users:queue:string:wait", new GenericToStringSerializer<>(Long.class));
+        long fixedUsage = fillAndMeasure("users:queue:fixed:wait", new FixedLongRedisSerializer());
+        long varintUsage = fillAndMeasure("users:queue:varint:wait", new VarLongRedisSerializer());
+
+        assertTrue(fixedUsage < stringUsage);
+        assertTrue(varintUsage < stringUsage);
+    }
+
+    private long fillAndMeasure(String key, RedisSerializer<Long> memberSerializer) {
+        var template = new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory,
+                RedisSerializationContext.<String, Long>newSerializationContext(RedisSerializer.string())
+                        .value(memberSerializer)
+                        .build());
+
+        StepVerifier.create(Flux.range(0, MEMBER_COUNT)
+                        .concatMap(i -> template.opsForZSet().add(key, USER_ID_BASE + i, i))
+                        .filter(isAdded -> isAdded)
+                        .count())
+                .expectNext((long) MEMBER_COUNT)
+                .verifyComplete();
+
+        try (var connection = redisConnectionFactory.getConnection()) {
+            return (Long) connection.execute("MEMORY",
+                    "USAGE".getBytes(StandardCharsets.UTF_8),
+                    key.getBytes(StandardCharsets.UTF_8),
+                    "SAMPLES".getBytes(StandardCharsets.UTF_8),
+                    "0".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
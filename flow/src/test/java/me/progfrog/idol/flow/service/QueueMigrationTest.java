@@ -0,0 +1,271 @@
+package me.progfrog.idol.flow.service;
+
+import me.progfrog.idol.flow.FederatedEmbeddedRedisConfig;
+import me.progfrog.idol.flow.dto.QueueMigrationResponse;
+import me.progfrog.idol.flow.dto.RegistrationDto;
+import me.progfrog.idol.flow.exception.ApplicationException;
+import me.progfrog.idol.flow.federation.QueueRoute;
+import me.progfrog.idol.flow.federation.RedisBackendRouter;
+import me.progfrog.idol.flow.federation.RedisBackendRouter.MigrationPhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static me.progfrog.idol.flow.FederatedEmbeddedRedisConfig.FIRST_BACKEND;
+import static me.progfrog.idol.flow.FederatedEmbeddedRedisConfig.SECOND_BACKEND;
+import static me.progfrog.idol.flow.service.UserQueueService.USER_QUEUE_ALLOW_KEY;
+import static me.progfrog.idol.flow.service.UserQueueService.USER_QUEUE_WAIT_KEY;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.data.redis.port=63792",
+        "redis.backends=" + FIRST_BACKEND + "," + SECOND_BACKEND,
+        "redis.routing.ack-timeout-seconds=2"
+})
+@Import(FederatedEmbeddedRedisConfig.class)
+class QueueMigrationTest {
+
+    private static final String QUEUE = "migration";
+    // 라우팅 변경을 ack 하지 않는 서버
+    private static final String STALE_NODE_KEY = "users:queue:routing:nodes:stale";
+
+    @Autowired
+    private QueueTransferService queueTransferService;
+
+    @Autowired
+    private UserQueueService userQueueService;
+
+    @Autowired
+    private RedisBackendRouter redisBackendRouter;
+
+    @Autowired
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @AfterEach
+    void afterEach() {
+        Flux.fromIterable(redisBackendRouter.getTemplates())
+                .flatMap(template -> template.getConnectionFactory().getReactiveConnection().serverCommands().flushAll())
+                .then(redisBackendRouter.refresh())
+                .block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("migrateQueue: 이관 전후 같은 대기 번호, 이관 후 기존 Redis 의 큐 삭제")
+    void migrateQueue() {
+        var source = route().backend();
+        var target = otherBackend(source);
+
+        StepVerifier.create(userQueueService.registerWaitQueue(QUEUE, 100L)
+                        .then(userQueueService.registerWaitQueue(QUEUE, 101L))
+                        .then(userQueueService.registerWaitQueue(QUEUE, 102L))
+                        .then(userQueueService.allowUser(QUEUE, 1L))
+                        .then(userQueueService.getRank(QUEUE, 102L)))
+                .expectNext(2L)
+                .verifyComplete();
+
+        StepVerifier.create(queueTransferService.migrateQueue(QUEUE, target))
+                .expectNext(new QueueMigrationResponse(QUEUE, target, 2L, 1L))
+                .verifyComplete();
+
+        assertEquals(target, route().backend());
+        assertNull(route().mirror());
+
+        StepVerifier.create(userQueueService.getRank(QUEUE, 102L))
+                .expectNext(2L)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.isAllowed(QUEUE, 100L))
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier.create(redisBackendRouter.getTemplateByBackend(source).orElseThrow()
+                        .hasKey(USER_QUEUE_WAIT_KEY.formatted(QUEUE)))
+                .expectNext(false)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.registerWaitQueue(QUEUE, 103L))
+                .expectNext(new RegistrationDto(true, 3L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("migrateQueue: 복사 중 등록한 사용자는 대상 Redis 에도 등록")
+    void registerWhileCopying() {
+        var source = route().backend();
+        var target = otherBackend(source);
+
+        StepVerifier.create(userQueueService.registerWaitQueue(QUEUE, 100L)
+                        .then(userQueueService.registerWaitQueue(QUEUE, 101L)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(queueTransferService.migrateQueue(QUEUE, target, members -> members
+                        .delayUntil(member -> userQueueService.registerWaitQueue(QUEUE, 200L)
+                                // 복사 중에는 기존 Redis 에서 조회
+                                .then(redisBackendRouter.route(QUEUE))
+                                .doOnNext(route -> assertEquals(source, route.backend())))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.getRank(QUEUE, 200L))
+                .expectNext(3L)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.getWaitQueueSize(QUEUE))
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("migrateQueue: ZSCAN 으로 읽은 뒤 복사 전에 입장 처리된 사용자는 대기 큐에 다시 들어가지 않음")
+    void allowWhileCopying() {
+        var target = otherBackend(route().backend());
+
+        StepVerifier.create(userQueueService.registerWaitQueue(QUEUE, 100L)
+                        .then(userQueueService.registerWaitQueue(QUEUE, 101L))
+                        .then(userQueueService.registerWaitQueue(QUEUE, 102L)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // 읽은 멤버마다 한 명씩 입장 처리한 뒤 복사
+        StepVerifier.create(queueTransferService.migrateQueue(QUEUE, target, members -> members
+                        .delayUntil(member -> userQueueService.allowUser(QUEUE, 1L))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(redisBackendRouter.getTemplateByBackend(target).orElseThrow().opsForZSet()
+                        .size(USER_QUEUE_WAIT_KEY.formatted(QUEUE)))
+                .expectNext(0L)
+                .verifyComplete();
+
+        StepVerifier.create(redisBackendRouter.getTemplateByBackend(target).orElseThrow().opsForZSet()
+                        .size(USER_QUEUE_ALLOW_KEY.formatted(QUEUE)))
+                .expectNext(3L)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.getRank(QUEUE, 100L))
+                .expectNext(-1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("migrateQueue: 이미 같은 Redis 에 있는 큐는 이관하지 않고, 이후 이관은 가능")
+    void migrateToSameBackend() {
+        var source = route().backend();
+
+        StepVerifier.create(queueTransferService.migrateQueue(QUEUE, source))
+                .expectError(ApplicationException.class)
+                .verify();
+
+        StepVerifier.create(queueTransferService.migrateQueue(QUEUE, otherBackend(source)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("migrateQueue: 전환이 모든 서버에 반영되지 않으면 SWITCH 단계로 남고, 다시 요청하면 이어서 완료")
+    void resumeAfterSwitchTimeout() {
+        var source = route().backend();
+        var target = otherBackend(source);
+
+        switchWithStaleNode(target);
+
+        StepVerifier.create(reactiveStringRedisTemplate.delete(STALE_NODE_KEY)
+                        .then(queueTransferService.migrateQueue(QUEUE, target)))
+                .expectNext(new QueueMigrationResponse(QUEUE, target, 2L, 0L))
+                .verifyComplete();
+
+        assertEquals(target, route().backend());
+        assertNull(route().mirror());
+
+        StepVerifier.create(redisBackendRouter.getMigration(QUEUE))
+                .verifyComplete();
+
+        StepVerifier.create(redisBackendRouter.getTemplateByBackend(source).orElseThrow()
+                        .hasKey(USER_QUEUE_WAIT_KEY.formatted(QUEUE)))
+                .expectNext(false)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.getRank(QUEUE, 101L))
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("abortMigration: SWITCH 단계에서 멈춘 이관을 되돌리면 기존 Redis 를 계속 사용")
+    void abortAfterSwitchTimeout() {
+        var source = route().backend();
+        var target = otherBackend(source);
+
+        switchWithStaleNode(target);
+
+        StepVerifier.create(reactiveStringRedisTemplate.delete(STALE_NODE_KEY)
+                        .then(queueTransferService.abortMigration(QUEUE)))
+                .verifyComplete();
+
+        assertEquals(source, route().backend());
+        assertNull(route().mirror());
+
+        StepVerifier.create(redisBackendRouter.getTemplateByBackend(target).orElseThrow()
+                        .hasKey(USER_QUEUE_WAIT_KEY.formatted(QUEUE)))
+                .expectNext(false)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.getRank(QUEUE, 101L))
+                .expectNext(2L)
+                .verifyComplete();
+
+        StepVerifier.create(queueTransferService.abortMigration(QUEUE))
+                .expectErrorSatisfies(throwable -> assertEquals("UQ-0008", ((ApplicationException) throwable).getCode()))
+                .verify();
+    }
+
+    /**
+     * 복사가 끝날 때 응답하지 않는 서버가 생겨 SWITCH 단계가 반영되지 않은 이관 (대기 큐 2명)
+     */
+    private void switchWithStaleNode(final String target) {
+        StepVerifier.create(userQueueService.registerWaitQueue(QUEUE, 100L))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(queueTransferService.migrateQueue(QUEUE, target, members -> members
+                        .concatWith(reactiveStringRedisTemplate.opsForValue().set(STALE_NODE_KEY, "0", Duration.ofMinutes(1))
+                                .then(Mono.empty()))))
+                .expectErrorSatisfies(throwable -> assertEquals("UQ-0006", ((ApplicationException) throwable).getCode()))
+                .verify(Duration.ofSeconds(10));
+
+        StepVerifier.create(redisBackendRouter.getMigration(QUEUE))
+                .expectNext(new RedisBackendRouter.Migration(MigrationPhase.SWITCH, target))
+                .verifyComplete();
+
+        // 두 Redis 에 모두 반영되는 상태 유지
+        assertEquals(target, route().backend());
+        assertNotNull(route().mirror());
+
+        StepVerifier.create(userQueueService.registerWaitQueue(QUEUE, 101L))
+                .expectNext(new RegistrationDto(true, 2L))
+                .verifyComplete();
+
+        // 기존 migration 은 SWITCH 단계로 남아 다른 대상 Redis 로는 이관할 수 없음
+        StepVerifier.create(queueTransferService.migrateQueue(QUEUE, otherBackend(target)))
+                .expectErrorSatisfies(throwable -> assertEquals("UQ-0004", ((ApplicationException) throwable).getCode()))
+                .verify();
+    }
+
+    private QueueRoute route() {
+        return redisBackendRouter.route(QUEUE).block(Duration.ofSeconds(5));
+    }
+
+    private String otherBackend(final String backend) {
+        return FIRST_BACKEND.equals(backend) ? SECOND_BACKEND : FIRST_BACKEND;
+    }
+}
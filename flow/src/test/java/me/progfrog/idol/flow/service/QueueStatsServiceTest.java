@@ -0,0 +1,113 @@
+package me.progfrog.idol.flow.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueStatsServiceTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    private final QueueStatsService queueStatsService = new QueueStatsService(60, 2, 600);
+
+    @Test
+    @DisplayName("getStats: 입장했지만 토큰을 발급받지 않은 비율이 이탈률")
+    void abandonmentRate() {
+        for (int i = 0; i < 4; i++) {
+            queueStatsService.recordAdmission("default", NOW - 10, NOW);
+        }
+        for (int i = 0; i < 3; i++) {
+            queueStatsService.recordTouch("default", NOW);
+        }
+
+        var stats = queueStatsService.getStats("default", NOW);
+
+        assertEquals(0.25, stats.abandonmentRate(), 0.0001);
+        assertEquals(4L, stats.admittedCount());
+        assertEquals(10L, stats.waitTimeMax());
+    }
+
+    @Test
+    @DisplayName("getStats: 입장한 사용자가 없으면 이탈률 0")
+    void abandonmentRateWithoutAdmission() {
+        queueStatsService.recordArrival("default", NOW);
+
+        assertEquals(0.0, queueStatsService.getStats("default", NOW).abandonmentRate());
+    }
+
+    @Test
+    @DisplayName("estimateEtaSeconds: 입장 큐 크기 변화로 계산한 입장률 기준")
+    void estimateEta() {
+        queueStatsService.recordAllowQueueSize("default", 100, NOW);
+        queueStatsService.recordAllowQueueSize("default", 110, NOW + 10);
+
+        assertEquals(5L, queueStatsService.estimateEtaSeconds("default", 5L, NOW + 10));
+        assertEquals(1.0, queueStatsService.getStats("default", NOW + 10).clusterAdmissionRate(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("estimateEtaSeconds: 계산할 수 없는 경우")
+    void estimateEtaEdgeCases() {
+        // 입장 차례 / 대기 큐에 없음 / 통계 없음
+        assertEquals(0L, queueStatsService.estimateEtaSeconds("default", 0L, NOW));
+        assertEquals(-1L, queueStatsService.estimateEtaSeconds("default", -1L, NOW));
+        assertEquals(-1L, queueStatsService.estimateEtaSeconds("default", 3L, NOW));
+
+        // 샘플이 하나뿐
+        queueStatsService.recordAllowQueueSize("default", 100, NOW);
+        assertEquals(-1L, queueStatsService.estimateEtaSeconds("default", 3L, NOW));
+
+        // 입장이 없음
+        queueStatsService.recordAllowQueueSize("default", 100, NOW + 5);
+        assertEquals(-1L, queueStatsService.estimateEtaSeconds("default", 3L, NOW + 5));
+
+        // 입장 큐가 줄어듦 (이관 등)
+        queueStatsService.recordAllowQueueSize("other", 100, NOW);
+        queueStatsService.recordAllowQueueSize("other", 10, NOW + 5);
+        assertEquals(-1L, queueStatsService.estimateEtaSeconds("other", 3L, NOW + 5));
+
+        // 샘플이 윈도우를 벗어남
+        queueStatsService.recordAllowQueueSize("default", 200, NOW + 10);
+        assertEquals(-1L, queueStatsService.estimateEtaSeconds("default", 3L, NOW + 100));
+    }
+
+    @Test
+    @DisplayName("recordTouch: 통계가 없는 큐는 새로 만들지 않음")
+    void touchUnknownQueue() {
+        queueStatsService.recordTouch("unknown", NOW);
+
+        assertEquals(0, queueStatsService.size());
+    }
+
+    @Test
+    @DisplayName("getOrCreate: stats.max-queues 개를 넘는 큐는 기록하지 않음")
+    void maxQueues() {
+        queueStatsService.recordArrival("queue-1", NOW);
+        queueStatsService.recordArrival("queue-2", NOW);
+        queueStatsService.recordArrival("queue-3", NOW);
+
+        assertEquals(2, queueStatsService.size());
+    }
+
+    @Test
+    @DisplayName("evictIdleQueues: 오래 갱신되지 않은 큐의 통계 제거")
+    void evictIdleQueues() {
+        queueStatsService.recordArrival("queue-1", NOW);
+        queueStatsService.recordArrival("queue-2", NOW + 500);
+
+        queueStatsService.evictIdleQueues(NOW + 700);
+
+        assertEquals(1, queueStatsService.size());
+    }
+
+    @Test
+    @DisplayName("getStats: 통계가 없는 큐는 빈 통계를 돌려주고 새로 만들지 않음")
+    void emptyStats() {
+        var stats = queueStatsService.getStats("unknown", NOW);
+
+        assertEquals(0L, stats.admittedCount());
+        assertEquals(-1.0, stats.clusterAdmissionRate());
+        assertEquals(0, queueStatsService.size());
+    }
+}
@@ -0,0 +1,113 @@
+package me.progfrog.idol.flow.service;
+
+import me.progfrog.idol.flow.EmbeddedRedisConfig;
+import me.progfrog.idol.flow.dto.QueueImportResponse;
+import me.progfrog.idol.flow.dto.QueueMemberDto;
+import me.progfrog.idol.flow.exception.ApplicationException;
+import me.progfrog.idol.flow.serializer.QueueMemberBinaryCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+@SpringBootTest
+@Import(EmbeddedRedisConfig.class)
+class QueueTransferServiceTest {
+
+    @Autowired
+    private QueueTransferService queueTransferService;
+
+    @Autowired
+    private UserQueueService userQueueService;
+
+    @Autowired
+    private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+
+    @AfterEach
+    void afterEach() {
+        ReactiveRedisConnection redisConnection = reactiveRedisTemplate.getConnectionFactory().getReactiveConnection();
+        redisConnection.serverCommands().flushAll().subscribe();
+    }
+
+    @Test
+    @DisplayName("exportQueue: 대기 큐, 입장 큐 순서로 내보내기")
+    void exportQueue() {
+        StepVerifier.create(userQueueService.registerWaitQueue("default", 100L)
+                        .then(userQueueService.registerWaitQueue("default", 101L))
+                        .then(userQueueService.registerWaitQueue("default", 102L))
+                        .then(userQueueService.allowUser("default", 1L))
+                        .thenMany(queueTransferService.exportQueue("default"))
+                        .map(QueueMemberDto::set))
+                .expectNext("wait", "wait", "allow")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("importQueue: 내보낸 큐를 다른 이름으로 가져오기")
+    void importQueue() {
+        StepVerifier.create(userQueueService.registerWaitQueue("default", 100L)
+                        .then(userQueueService.registerWaitQueue("default", 101L))
+                        .then(userQueueService.allowUser("default", 1L))
+                        .then(queueTransferService.importQueue("copy", queueTransferService.exportQueue("default"))))
+                .expectNext(new QueueImportResponse("copy", 2L))
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.getRank("copy", 101L))
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.isAllowed("copy", 100L))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("importQueue: 큐 종류가 잘못된 데이터는 가져오지 않음")
+    void importInvalidQueue() {
+        StepVerifier.create(queueTransferService.importQueue("default",
+                        Flux.just(new QueueMemberDto("unknown", 100L, 1.0))))
+                .expectError(ApplicationException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("migrateQueue: 설정되지 않은 Redis 로는 이관하지 않음")
+    void migrateToUnknownBackend() {
+        StepVerifier.create(queueTransferService.migrateQueue("default", "127.0.0.1:6399"))
+                .expectError(ApplicationException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("binaryCodec: 버퍼 경계에 걸친 레코드도 디코딩")
+    void binaryCodec() {
+        var members = List.of(
+                new QueueMemberDto("wait", 100L, 1.0),
+                new QueueMemberDto("allow", 101L, 2.0));
+
+        DataBuffer encoded = QueueMemberBinaryCodec.encode(members, DefaultDataBufferFactory.sharedInstance);
+        byte[] bytes = new byte[encoded.readableByteCount()];
+        encoded.read(bytes);
+
+        var bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        Flux<DataBuffer> chunks = Flux.just(
+                bufferFactory.wrap(Arrays.copyOfRange(bytes, 0, 5)),
+                bufferFactory.wrap(Arrays.copyOfRange(bytes, 5, 20)),
+                bufferFactory.wrap(Arrays.copyOfRange(bytes, 20, bytes.length)));
+
+        StepVerifier.create(QueueMemberBinaryCodec.decode(chunks))
+                .expectNextSequence(members)
+                .verifyComplete();
+    }
+}
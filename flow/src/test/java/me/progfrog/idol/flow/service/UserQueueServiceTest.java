@@ -1,7 +1,8 @@
 package me.progfrog.idol.flow.service;
 
 import me.progfrog.idol.flow.EmbeddedRedisConfig;
-import me.progfrog.idol.flow.exception.ApplicationException;
+import me.progfrog.idol.flow.dto.RegistrationDto;
+import me.progfrog.idol.flow.federation.RedisBackendRouter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,11 @@ import org.springframework.data.redis.connection.ReactiveRedisConnection;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import reactor.test.StepVerifier;
 
+import java.time.Instant;
+
+import static me.progfrog.idol.flow.service.UserQueueService.USER_QUEUE_WAIT_KEY;
+import static org.junit.jupiter.api.Assertions.*;
+
 @SpringBootTest
 @Import(EmbeddedRedisConfig.class)
 class UserQueueServiceTest {
@@ -22,6 +28,12 @@ class UserQueueServiceTest {
     @Autowired
     private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
 
+    @Autowired
+    private RedisBackendRouter redisBackendRouter;
+
+    @Autowired
+    private QueueStatsService queueStatsService;
+
     @AfterEach
     void afterEach() {
         ReactiveRedisConnection redisConnection = reactiveRedisTemplate.getConnectionFactory().getReactiveConnection();
@@ -32,15 +44,15 @@ class UserQueueServiceTest {
     @DisplayName("registerWaitQueue: 대기 큐에 사용자 등록하기")
     void registerWaitQueue() {
         StepVerifier.create(userQueueService.registerWaitQueue("default", 100L))
-                .expectNext(1L)
+                .expectNext(new RegistrationDto(true, 1L))
                 .verifyComplete();
 
         StepVerifier.create(userQueueService.registerWaitQueue("default", 101L))
-                .expectNext(2L)
+                .expectNext(new RegistrationDto(true, 2L))
                 .verifyComplete();
 
         StepVerifier.create(userQueueService.registerWaitQueue("default", 102L))
-                .expectNext(3L)
+                .expectNext(new RegistrationDto(true, 3L))
                 .verifyComplete();
     }
 
@@ -48,12 +60,26 @@ class UserQueueServiceTest {
     @DisplayName("alreadyRegisterWaitQueue: 대기 큐에 이미 등록된 사용자 다시 등록 시도하기")
     void alreadyRegisterWaitQueue() {
         StepVerifier.create(userQueueService.registerWaitQueue("default", 100L))
-                .expectNext(1L)
+                .expectNext(new RegistrationDto(true, 1L))
+                .verifyComplete();
+
+        StepVerifier.create(userQueueService.registerWaitQueue("default", 101L))
+                .expectNext(new RegistrationDto(true, 2L))
                 .verifyComplete();
 
         StepVerifier.create(userQueueService.registerWaitQueue("default", 100L))
-                .expectError(ApplicationException.class)
-                .verify();
+                .expectNext(new RegistrationDto(false, 1L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("registerWaitingQueueOrGetQueueStatus: 이미 등록된 사용자는 기존 대기 번호로 상태 조회")
+    void registerWaitingQueueOrGetQueueStatus() {
+        StepVerifier.create(userQueueService.registerWaitQueue("default", 100L)
+                        .then(userQueueService.registerWaitQueue("default", 101L))
+                        .then(userQueueService.registerWaitingQueueOrGetQueueStatus("default", 101L)))
+                .expectNextMatches(dto -> dto.userRank() == 2L && dto.totalQueueSize() == 2L)
+                .verifyComplete();
     }
 
     @Test
@@ -75,6 +101,24 @@ class UserQueueServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("allowUser: 입장 시 대기 큐의 score(등록 시각)로 대기 시간 기록")
+    void allowUserRecordsWaitTime() {
+        String queue = "stats-test";
+        long registeredAt = Instant.now().getEpochSecond() - 100;
+
+        StepVerifier.create(redisBackendRouter.route(queue)
+                        .flatMap(route -> route.template().opsForZSet()
+                                .add(USER_QUEUE_WAIT_KEY.formatted(queue), 100L, registeredAt))
+                        .then(userQueueService.allowUser(queue, 1L)))
+                .expectNext(1L)
+                .verifyComplete();
+
+        var stats = queueStatsService.getStats(queue);
+        assertEquals(1L, stats.admittedCount());
+        assertEquals(100L, stats.waitTimeMax(), 2);
+    }
+
     @Test
     @DisplayName("allowUser2: 대기 큐에 존재하는 사용자 수보다 더 많이 입장 큐에 사용자 넣기 시도")
     void allowUser2() {
@@ -94,7 +138,7 @@ class UserQueueServiceTest {
                         .then(userQueueService.registerWaitQueue("default", 102L))
                         .then(userQueueService.allowUser("default", 3L))
                         .then(userQueueService.registerWaitQueue("default", 200L)))
-                .expectNext(1L)
+                .expectNext(new RegistrationDto(true, 1L))
                 .verifyComplete();
     }
 
@@ -0,0 +1,57 @@
+package me.progfrog.idol.flow.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    @Test
+    @DisplayName("sum: 윈도우 내 값만 합산")
+    void sumWithinWindow() {
+        var counter = new SlidingWindowCounter(3);
+        counter.add(NOW, 1);
+        counter.add(NOW, 2);
+        counter.add(NOW + 1, 4);
+
+        assertEquals(7L, counter.sum(NOW + 1));
+        assertEquals(7.0 / 3, counter.ratePerSecond(NOW + 1), 0.0001);
+    }
+
+    @Test
+    @DisplayName("add: 링 버퍼가 한 바퀴 돌면 오래된 칸을 초기화 후 재사용")
+    void wrapAround() {
+        var counter = new SlidingWindowCounter(3);
+        counter.add(NOW, 10);
+        counter.add(NOW + 1, 1);
+        counter.add(NOW + 2, 1);
+
+        // NOW 와 같은 칸을 사용
+        counter.add(NOW + 3, 5);
+
+        assertEquals(7L, counter.sum(NOW + 3));
+    }
+
+    @Test
+    @DisplayName("sum: 윈도우가 지난 값은 제외")
+    void expire() {
+        var counter = new SlidingWindowCounter(3);
+        counter.add(NOW, 1);
+        counter.add(NOW + 1, 2);
+
+        assertEquals(2L, counter.sum(NOW + 3));
+        assertEquals(0L, counter.sum(NOW + 10));
+    }
+
+    @Test
+    @DisplayName("sum: 현재 시각보다 미래의 값은 제외")
+    void ignoreFuture() {
+        var counter = new SlidingWindowCounter(3);
+        counter.add(NOW + 2, 1);
+
+        assertEquals(0L, counter.sum(NOW));
+    }
+}
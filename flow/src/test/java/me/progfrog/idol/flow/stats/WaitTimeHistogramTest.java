@@ -0,0 +1,55 @@
+package me.progfrog.idol.flow.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitTimeHistogramTest {
+
+    @Test
+    @DisplayName("emptyHistogram: 기록된 값이 없으면 0")
+    void emptyHistogram() {
+        var histogram = new WaitTimeHistogram();
+
+        assertEquals(0L, histogram.getValueAtPercentile(50));
+        assertEquals(0L, histogram.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("smallValues: 작은 값은 정확하게 기록")
+    void smallValues() {
+        var histogram = new WaitTimeHistogram();
+        for (long i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(5L, histogram.getValueAtPercentile(50));
+        assertEquals(9L, histogram.getValueAtPercentile(90));
+        assertEquals(10L, histogram.getValueAtPercentile(100));
+        assertEquals(10L, histogram.getMaxValue());
+    }
+
+    @Test
+    @DisplayName("largeValues: 큰 값은 최대 6.25% 오차 이내로 기록")
+    void largeValues() {
+        var histogram = new WaitTimeHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(5_000L, histogram.getValueAtPercentile(50), 5_000 * 0.0625);
+        assertEquals(9_900L, histogram.getValueAtPercentile(99), 9_900 * 0.0625);
+        assertEquals(10_000L, histogram.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("indexOf: 버킷 인덱스와 값 변환이 일치")
+    void indexRoundTrip() {
+        for (long value : new long[]{0, 1, 31, 32, 48, 1_000, 1L << 40}) {
+            long lowerBound = WaitTimeHistogram.valueOf(WaitTimeHistogram.indexOf(value));
+            assertTrue(lowerBound <= value);
+            assertTrue(value - lowerBound <= Math.max(0, value / 16));
+        }
+    }
+}